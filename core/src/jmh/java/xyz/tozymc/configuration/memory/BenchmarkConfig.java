@@ -0,0 +1,42 @@
+package xyz.tozymc.configuration.memory;
+
+import xyz.tozymc.configuration.TcConfig;
+import xyz.tozymc.configuration.TcConfigSection;
+import xyz.tozymc.configuration.option.TcConfigOptions;
+
+@SuppressWarnings("NullableProblems")
+public class BenchmarkConfig extends MemoryConfigSection implements TcConfig {
+  private final BenchmarkOptions options;
+
+  public BenchmarkConfig() {
+    super();
+    this.options = new BenchmarkOptions(this);
+  }
+
+  @Override
+  protected MemoryConfigSection newSection(TcConfigSection parent, String name) {
+    return new BenchmarkSection(parent, name);
+  }
+
+  @Override
+  public TcConfigOptions getOptions() {
+    return options;
+  }
+
+  static class BenchmarkSection extends MemoryConfigSection {
+    BenchmarkSection(TcConfigSection parent, String name) {
+      super(parent, name);
+    }
+
+    @Override
+    protected MemoryConfigSection newSection(TcConfigSection parent, String name) {
+      return new BenchmarkSection(parent, name);
+    }
+  }
+
+  static class BenchmarkOptions extends TcConfigOptions {
+    BenchmarkOptions(TcConfig config) {
+      super(config);
+    }
+  }
+}
@@ -0,0 +1,80 @@
+package xyz.tozymc.configuration.memory;
+
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Group;
+import org.openjdk.jmh.annotations.GroupThreads;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import xyz.tozymc.configuration.option.ConcurrencyMode;
+
+/**
+ * Compares the concurrency modes under a read-mostly load.
+ *
+ * <p>{@code reads} looks values up on every available thread without any writer. The {@code
+ * readMostly} group runs 31 readers next to one writer that changes a value every few
+ * microseconds. With {@link ConcurrencyMode#NONE} the writer only burns CPU, that mode is safe
+ * only without concurrent writes and is measured as the no locking baseline.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ConcurrentReadBenchmark {
+  private static final int SERVERS = 64;
+
+  @Param({"NONE", "READ_WRITE_LOCK", "OPTIMISTIC", "COPY_ON_WRITE"})
+  public ConcurrencyMode mode;
+
+  private BenchmarkConfig config;
+  private int writes;
+
+  @Setup
+  public void setup() {
+    config = new BenchmarkConfig();
+    config.getOptions().concurrencyMode(mode);
+    for (var i = 0; i < SERVERS; i++) {
+      config.set("servers.s" + i + ".host", "server-" + i + ".internal");
+      config.set("servers.s" + i + ".port", 8000 + i);
+    }
+  }
+
+  private int readPort() {
+    return config.getInt("servers.s" + (Thread.currentThread().getId() % SERVERS) + ".port");
+  }
+
+  @Benchmark
+  @Threads(Threads.MAX)
+  public int reads() {
+    return readPort();
+  }
+
+  @Benchmark
+  @Group("readMostly")
+  @GroupThreads(31)
+  public int reader() {
+    return readPort();
+  }
+
+  @Benchmark
+  @Group("readMostly")
+  @GroupThreads(1)
+  public void writer() {
+    Blackhole.consumeCPU(10_000);
+    if (mode != ConcurrencyMode.NONE) {
+      config.set("servers.s0.weight", writes++);
+    }
+  }
+}
@@ -0,0 +1,58 @@
+package xyz.tozymc.configuration.memory;
+
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import xyz.tozymc.configuration.ConfigPath;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PathLookupBenchmark {
+  private static final String PATH = "servers.eu-west.database.port";
+
+  private BenchmarkConfig config;
+  private ConfigPath compiledPath;
+
+  @Setup
+  public void setup() {
+    config = new BenchmarkConfig();
+    for (var i = 0; i < 16; i++) {
+      config.set("servers.region-" + i + ".database.port", 5432 + i);
+      config.set("servers.region-" + i + ".database.host", "db-" + i + ".internal");
+    }
+    config.set(PATH, 5432);
+    compiledPath = ConfigPath.of(PATH, config);
+  }
+
+  @Benchmark
+  public Object stringPath() {
+    return config.get(PATH);
+  }
+
+  @Benchmark
+  public Object compiledPath() {
+    return config.get(compiledPath);
+  }
+
+  @Benchmark
+  public int stringPathInt() {
+    return config.getInt(PATH);
+  }
+
+  @Benchmark
+  public int compiledPathInt() {
+    return config.getInt(compiledPath);
+  }
+}
@@ -0,0 +1,66 @@
+package xyz.tozymc.configuration.memory;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Pattern;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import xyz.tozymc.configuration.ConfigQuery;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SelectBenchmark {
+  private static final Pattern PORTS = Pattern.compile("servers\\.[^.]*\\.port");
+
+  private BenchmarkConfig config;
+  private ConfigQuery query;
+  private int value;
+
+  @Setup
+  public void setup() {
+    config = new BenchmarkConfig();
+    for (var i = 0; i < 200; i++) {
+      config.set("servers.s" + i + ".port", i);
+      config.set("servers.s" + i + ".db.host", "host" + i);
+      config.set("servers.s" + i + ".db.pool.size", i);
+      config.set("routes.r" + i + ".target", "s" + i);
+    }
+    query = ConfigQuery.compile("servers.*.port", config);
+  }
+
+  @Benchmark
+  public Map<String, ?> regexOverDeepKeys() {
+    config.set("changed", value++);
+    Map<String, Object> results = new LinkedHashMap<>();
+    for (var key : config.getKeys(true)) {
+      if (PORTS.matcher(key).matches()) {
+        results.put(key, config.get(key));
+      }
+    }
+    return results;
+  }
+
+  @Benchmark
+  public Map<String, ?> selectAfterChange() {
+    config.set("changed", value++);
+    return config.select(query);
+  }
+
+  @Benchmark
+  public Map<String, ?> selectCached() {
+    return config.select(query);
+  }
+}
@@ -0,0 +1,45 @@
+package xyz.tozymc.configuration.memory;
+
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SetValueBenchmark {
+  private BenchmarkConfig config;
+  private int value;
+
+  @Setup
+  public void setup() {
+    config = new BenchmarkConfig();
+    config.set("a.b", 0);
+  }
+
+  @Benchmark
+  public Object setInt() {
+    return config.set("a.b", value++);
+  }
+
+  @Benchmark
+  public Object setString() {
+    return config.set("a.b", "value");
+  }
+
+  @Benchmark
+  public Object setArray() {
+    return config.set("a.b", new String[]{"a", "b"});
+  }
+}
@@ -0,0 +1,125 @@
+package xyz.tozymc.configuration;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import org.jetbrains.annotations.Contract;
+import org.jetbrains.annotations.NotNull;
+import xyz.tozymc.configuration.util.Validators;
+
+/**
+ * Represents a precompiled path to value in {@link TcConfigSection}.
+ *
+ * <p>The path is split into segments once, looking up a value by {@link ConfigPath} does not
+ * allocate or search for the separator again. A compiled path should be kept and reused for the
+ * values that are read frequently.
+ *
+ * @author TozyMC
+ * @see DataStorage#get(ConfigPath)
+ * @since 1.0
+ */
+public final class ConfigPath {
+  private static final String[] EMPTY_SEGMENTS = new String[0];
+
+  private final String path;
+  private final char separator;
+  private final String[] segments;
+
+  private ConfigPath(String path, char separator, String[] segments) {
+    this.path = path;
+    this.separator = separator;
+    this.segments = segments;
+  }
+
+  /**
+   * Compiles the path using given separator.
+   *
+   * @param path      The path to compile.
+   * @param separator The char separating the path segments.
+   * @return The compiled path.
+   */
+  @Contract(pure = true)
+  public static @NotNull ConfigPath of(@NotNull String path, char separator) {
+    Validators.notNullArgs(path, "Path cannot be null");
+    if (path.isEmpty()) {
+      return new ConfigPath(path, separator, EMPTY_SEGMENTS);
+    }
+
+    var segments = new ArrayList<String>();
+    var start = 0;
+    for (int sepInd; (sepInd = path.indexOf(separator, start)) >= 0; start = sepInd + 1) {
+      segments.add(path.substring(start, sepInd).intern());
+    }
+    segments.add(path.substring(start).intern());
+    return new ConfigPath(path, separator, segments.toArray(EMPTY_SEGMENTS));
+  }
+
+  /**
+   * Compiles the path using the path separator of the root config containing the section.
+   *
+   * @param path    The path to compile.
+   * @param section The section that the path will be used in.
+   * @return The compiled path.
+   */
+  public static @NotNull ConfigPath of(@NotNull String path, @NotNull TcConfigSection section) {
+    return of(path, section.getRoot().getOptions().pathSeparator());
+  }
+
+  /**
+   * Gets the number of segments of this path.
+   *
+   * @return The number of segments.
+   */
+  public int size() {
+    return segments.length;
+  }
+
+  /**
+   * Gets the segment at given index.
+   *
+   * @param index Index of segment.
+   * @return The segment.
+   * @throws IndexOutOfBoundsException Thrown when the index is out of range.
+   */
+  public @NotNull String segment(int index) {
+    return segments[index];
+  }
+
+  /**
+   * Gets the last segment of this path, that is the key of the value in its section.
+   *
+   * @return The last segment, or empty string when this path is empty.
+   */
+  public @NotNull String lastSegment() {
+    return segments.length == 0 ? "" : segments[segments.length - 1];
+  }
+
+  /**
+   * Gets the char separating the segments of this path.
+   *
+   * @return The path separator.
+   */
+  public char separator() {
+    return separator;
+  }
+
+  @Override
+  public boolean equals(Object o) {
+    if (this == o) {
+      return true;
+    }
+    if (!(o instanceof ConfigPath)) {
+      return false;
+    }
+    return Arrays.equals(segments, ((ConfigPath) o).segments);
+  }
+
+  @Override
+  public int hashCode() {
+    return Arrays.hashCode(segments);
+  }
+
+  @Override
+  public String toString() {
+    return path;
+  }
+}
@@ -0,0 +1,225 @@
+package xyz.tozymc.configuration;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Map;
+import org.jetbrains.annotations.Contract;
+import org.jetbrains.annotations.NotNull;
+import xyz.tozymc.configuration.util.Validators;
+
+/**
+ * Represents a precompiled wildcard query over the paths of {@link TcConfigSection}.
+ *
+ * <p>The pattern is split into segments by the separator, each segment is one of:
+ *
+ * <ul>
+ *   <li>{@code **} matches zero or more segments of the path.</li>
+ *   <li>{@code *} matches exactly one segment.</li>
+ *   <li>A segment containing {@code *}, such as {@code eu-*}, matches one segment where each
+ *   {@code *} stands for any characters.</li>
+ *   <li>Any other segment matches the same segment only.</li>
+ * </ul>
+ *
+ * <p>For example {@code servers.*.port} matches the port of every server and {@code **.enabled}
+ * matches every path ending with {@code enabled}. The query is compiled once into an automaton
+ * over the segments, the tree is evaluated in one walk that skips the sections no match can be
+ * found in. A compiled query should be kept and reused, memory sections cache the results of
+ * the query until the next change.
+ *
+ * @author TozyMC
+ * @see TcConfigSection#select(ConfigQuery)
+ * @since 1.0
+ */
+public final class ConfigQuery {
+  private static final int MAX_SEGMENTS = Long.SIZE - 1;
+  private static final String DEEP_WILDCARD = "**";
+
+  private final String pattern;
+  private final String[] segments;
+  private final String[][] globs;
+  private final long deep;
+  private final long accept;
+  private final long start;
+
+  private ConfigQuery(String pattern, String[] segments) {
+    this.pattern = pattern;
+    this.segments = segments;
+    this.globs = new String[segments.length][];
+    var deep = 0L;
+    for (var i = 0; i < segments.length; i++) {
+      if (segments[i].equals(DEEP_WILDCARD)) {
+        deep |= 1L << i;
+      } else if (segments[i].indexOf('*') >= 0) {
+        globs[i] = segments[i].split("\\*", -1);
+      }
+    }
+    this.deep = deep;
+    this.accept = 1L << segments.length;
+    this.start = closure(1L);
+  }
+
+  /**
+   * Compiles the query pattern using given separator.
+   *
+   * @param pattern   The pattern to compile.
+   * @param separator The char separating the pattern segments.
+   * @return The compiled query.
+   * @throws IllegalArgumentException Thrown when the pattern has more than 63 segments.
+   */
+  @Contract(pure = true)
+  public static @NotNull ConfigQuery compile(@NotNull String pattern, char separator) {
+    Validators.notNullArgs(pattern, "Pattern cannot be null");
+    var segments = new ArrayList<String>();
+    var start = 0;
+    for (int sepInd; (sepInd = pattern.indexOf(separator, start)) >= 0; start = sepInd + 1) {
+      segments.add(pattern.substring(start, sepInd));
+    }
+    segments.add(pattern.substring(start));
+    if (segments.size() > MAX_SEGMENTS) {
+      throw new IllegalArgumentException(
+          "Pattern cannot have more than " + MAX_SEGMENTS + " segments: " + pattern);
+    }
+    return new ConfigQuery(pattern, segments.toArray(new String[0]));
+  }
+
+  /**
+   * Compiles the query pattern using the path separator of the root config containing the
+   * section.
+   *
+   * @param pattern The pattern to compile.
+   * @param section The section that the query will be used in.
+   * @return The compiled query.
+   * @throws IllegalArgumentException Thrown when the pattern has more than 63 segments.
+   */
+  public static @NotNull ConfigQuery compile(@NotNull String pattern,
+      @NotNull TcConfigSection section) {
+    return compile(pattern, section.getRoot().getOptions().pathSeparator());
+  }
+
+  private static boolean matchesGlob(String[] parts, String key) {
+    var last = parts.length - 1;
+    var from = parts[0].length();
+    var to = key.length() - parts[last].length();
+    if (to < from || !key.startsWith(parts[0]) || !key.startsWith(parts[last], to)) {
+      return false;
+    }
+    for (var i = 1; i < last; i++) {
+      var ind = key.indexOf(parts[i], from);
+      if (ind < 0 || ind + parts[i].length() > to) {
+        return false;
+      }
+      from = ind + parts[i].length();
+    }
+    return true;
+  }
+
+  /**
+   * Adds the state after each {@code **} segment, a deep wildcard may match no segment.
+   */
+  private long closure(long states) {
+    for (var pending = states & deep; pending != 0; pending &= pending - 1) {
+      var next = Long.lowestOneBit(pending) << 1;
+      if ((states & next) == 0) {
+        states |= next;
+        pending |= next & deep;
+      }
+    }
+    return states;
+  }
+
+  private long next(long states, String key) {
+    var next = 0L;
+    for (var pending = states & ~accept; pending != 0; pending &= pending - 1) {
+      var state = Long.numberOfTrailingZeros(pending);
+      var bit = 1L << state;
+      if ((deep & bit) != 0) {
+        next |= bit;
+      } else if (globs[state] != null ? matchesGlob(globs[state], key)
+          : segments[state].equals(key)) {
+        next |= bit << 1;
+      }
+    }
+    return closure(next);
+  }
+
+  /**
+   * Checks if the path is matched by this query.
+   *
+   * @param path      The path to check.
+   * @param separator The char separating the path segments.
+   * @return True if the path is matched.
+   */
+  public boolean matches(@NotNull String path, char separator) {
+    Validators.notNullArgs(path, "Path cannot be null");
+    var states = start;
+    var from = 0;
+    for (int sepInd; (sepInd = path.indexOf(separator, from)) >= 0; from = sepInd + 1) {
+      states = next(states, path.substring(from, sepInd));
+      if ((states & ~accept) == 0) {
+        return false;
+      }
+    }
+    return (next(states, path.substring(from)) & accept) != 0;
+  }
+
+  /**
+   * Creates a visitor that puts the matched values of the walked tree into the map, keyed by their
+   * paths relative to the walked section. Matched sections are put as well, the sections that
+   * no match can be found in aren't entered.
+   *
+   * @param results The map to put the matched values into.
+   * @return New visitor, it should be used for one walk.
+   * @see TcConfigSection#walk(ConfigVisitor)
+   */
+  public @NotNull ConfigVisitor collector(@NotNull Map<String, Object> results) {
+    Validators.notNullArgs(results, "Results cannot be null");
+    return new ConfigVisitor() {
+      private long[] states = {start};
+
+      @Override
+      public void visit(@NotNull Entry entry) {
+        if ((next(states[entry.depth() - 1], entry.key()) & accept) != 0) {
+          results.put(entry.path(), entry.value());
+        }
+      }
+
+      @Override
+      public boolean enterSection(@NotNull Entry entry) {
+        var depth = entry.depth();
+        var next = next(states[depth - 1], entry.key());
+        if ((next & accept) != 0) {
+          results.put(entry.path(), entry.value());
+        }
+        if ((next & ~accept) == 0) {
+          return false;
+        }
+        if (depth == states.length) {
+          states = Arrays.copyOf(states, depth << 1);
+        }
+        states[depth] = next;
+        return true;
+      }
+    };
+  }
+
+  @Override
+  public boolean equals(Object o) {
+    if (this == o) {
+      return true;
+    }
+    if (!(o instanceof ConfigQuery)) {
+      return false;
+    }
+    return Arrays.equals(segments, ((ConfigQuery) o).segments);
+  }
+
+  @Override
+  public int hashCode() {
+    return Arrays.hashCode(segments);
+  }
+
+  @Override
+  public String toString() {
+    return pattern;
+  }
+}
@@ -0,0 +1,123 @@
+package xyz.tozymc.configuration;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * Visits the values of a {@link TcConfigSection} tree in order.
+ *
+ * <p>The same {@link Entry} object is passed to every call of one walk and only describes the
+ * current value during the call, it must not be kept.
+ *
+ * @author TozyMC
+ * @see TcConfigSection#walk(ConfigVisitor)
+ * @since 1.0
+ */
+@FunctionalInterface
+public interface ConfigVisitor {
+  /**
+   * Visits a value that isn't a configuration section.
+   *
+   * @param entry The current value.
+   */
+  void visit(@NotNull Entry entry);
+
+  /**
+   * Called before the values of a child section are visited.
+   *
+   * @param entry The current section, {@link Entry#value()} is the section.
+   * @return True to visit the values of the section, false to skip them.
+   */
+  default boolean enterSection(@NotNull Entry entry) {
+    return true;
+  }
+
+  /**
+   * Called after the values of a child section were visited, only when {@link
+   * #enterSection(Entry)} returned true.
+   *
+   * @param entry The current section, {@link Entry#value()} is the section.
+   */
+  default void exitSection(@NotNull Entry entry) {}
+
+  /**
+   * The position and the value visited by a {@link ConfigVisitor}.
+   *
+   * <p>The path is kept as a stack of segments relative to the walked section, no string is built
+   * unless {@link #path()} is called. Primitive values can be read without boxing.
+   *
+   * @author TozyMC
+   * @since 1.0
+   */
+  interface Entry {
+    /**
+     * Gets the depth of the current value, the values of the walked section have depth 1.
+     *
+     * @return Depth of the current value.
+     */
+    int depth();
+
+    /**
+     * Gets the segment of the path at the given level.
+     *
+     * @param level Level of segment, from 0 to {@link #depth()} exclusive.
+     * @return The segment of the path.
+     */
+    @NotNull String segment(int level);
+
+    /**
+     * Gets the key of the current value, that is the last segment of the path.
+     *
+     * @return Key of the current value.
+     */
+    default @NotNull String key() {
+      return segment(depth() - 1);
+    }
+
+    /**
+     * Creates the path of the current value relative to the walked section.
+     *
+     * @return New path string.
+     */
+    @NotNull String path();
+
+    /**
+     * Gets the current value.
+     *
+     * @return The current value.
+     */
+    @Nullable Object value();
+
+    /**
+     * Gets the current value as {@code int}.
+     *
+     * @return The current int.
+     * @see DataStorage#getInt(String)
+     */
+    int intValue();
+
+    /**
+     * Gets the current value as {@code long}.
+     *
+     * @return The current long.
+     * @see DataStorage#getLong(String)
+     */
+    long longValue();
+
+    /**
+     * Gets the current value as {@code double}.
+     *
+     * @return The current double.
+     * @see DataStorage#getDouble(String)
+     */
+    double doubleValue();
+
+    /**
+     * Gets the current value as {@code boolean}.
+     *
+     * @return The current boolean.
+     * @see DataStorage#getBoolean(String)
+     */
+    boolean booleanValue();
+  }
+}
@@ -1,5 +1,8 @@
 package xyz.tozymc.configuration;
 
+import java.nio.DoubleBuffer;
+import java.nio.IntBuffer;
+import java.nio.LongBuffer;
 import java.util.Collections;
 import java.util.List;
 import java.util.Map;
@@ -46,6 +49,16 @@ public interface DataStorage {
     return get(path) != null;
   }
 
+  /**
+   * Checks if this storage contains this compiled value path.
+   *
+   * @param path Compiled path to value.
+   * @return True if this storage contains this path.
+   */
+  default boolean contains(@NotNull ConfigPath path) {
+    return get(path) != null;
+  }
+
   /**
    * Gets the value with given path.
    *
@@ -98,6 +111,50 @@ public interface DataStorage {
    */
   @Nullable Object getOrDefault(@NotNull String path, @Nullable Object def);
 
+  /**
+   * Gets the value with given compiled path.
+   *
+   * <p>If the requested is instance of {@link TcConfigSection}, the requested value will be
+   * deserialized to new object.
+   *
+   * <p>If the requested value isn't instance of the type, this method will return {@code null}.
+   *
+   * @param path Compiled path to value.
+   * @param type The class type of value.
+   * @param <T>  Type of value.
+   * @return The requested object.
+   * @throws TcConfigSerializationException Thrown when no serializer represented the type.
+   * @see #get(String, Class)
+   */
+  default <T> @Nullable T get(@NotNull ConfigPath path, @NotNull Class<T> type)
+      throws TcConfigSerializationException {
+    return get(path.toString(), type);
+  }
+
+  /**
+   * Gets the object with given compiled path.
+   *
+   * @param path Compiled path to object.
+   * @return The requested object.
+   * @see ConfigPath
+   */
+  default @Nullable Object get(@NotNull ConfigPath path) {
+    return getOrDefault(path, null);
+  }
+
+  /**
+   * Gets the value with given compiled path, returns the default value if requested value is
+   * null.
+   *
+   * @param path Compiled path to value.
+   * @param def  The default value.
+   * @return The requested object.
+   * @see ConfigPath
+   */
+  default @Nullable Object getOrDefault(@NotNull ConfigPath path, @Nullable Object def) {
+    return getOrDefault(path.toString(), def);
+  }
+
   /**
    * Finds the object with given path.
    *
@@ -134,6 +191,20 @@ public interface DataStorage {
    */
   @Nullable Object set(@NotNull String path, @Nullable Object value);
 
+  /**
+   * Sets the value to which the compiled path is specified.
+   *
+   * <p>If {@code value} is null, the path will be removed.
+   *
+   * @param path  The compiled path where the value will be set.
+   * @param value The value to set.
+   * @return The previous value.
+   * @see #set(String, Object)
+   */
+  default @Nullable Object set(@NotNull ConfigPath path, @Nullable Object value) {
+    return set(path.toString(), value);
+  }
+
   /**
    * Sets the value to which the path is specified, the action is canceled when the path isn't in
    * this storage.
@@ -292,6 +363,20 @@ public interface DataStorage {
    */
   @NotNull Map<String, ?> getValues();
 
+  /**
+   * Gets the read-only view of values.
+   *
+   * <p>Unlike {@link #getValues()}, nothing is copied: child sections are shown as nested views
+   * and later changes of this storage are visible through the view. Iterating the view while
+   * another thread changes this storage is safe only when the values are copied on write.
+   *
+   * @return Read-only view of values.
+   * @see xyz.tozymc.configuration.option.ConcurrencyMode
+   */
+  default @UnmodifiableView @NotNull Map<String, ?> valuesView() {
+    return Collections.unmodifiableMap(getValues());
+  }
+
   /* Primitive Data */
 
   // int
@@ -318,6 +403,17 @@ public interface DataStorage {
     return NumberConversions.toInt(get(path));
   }
 
+  /**
+   * Gets the int value with given compiled path, returns {@code 0} when value wasn't existed.
+   *
+   * @param path Compiled path to int.
+   * @return The requested int.
+   * @see #get(ConfigPath)
+   */
+  default int getInt(@NotNull ConfigPath path) {
+    return NumberConversions.toInt(get(path));
+  }
+
   // long
 
   /**
@@ -342,6 +438,17 @@ public interface DataStorage {
     return NumberConversions.toLong(get(path));
   }
 
+  /**
+   * Gets the long value with given compiled path, returns {@code 0L} when value wasn't existed.
+   *
+   * @param path Compiled path to long.
+   * @return The requested long.
+   * @see #get(ConfigPath)
+   */
+  default long getLong(@NotNull ConfigPath path) {
+    return NumberConversions.toLong(get(path));
+  }
+
   // double
 
   /**
@@ -366,6 +473,17 @@ public interface DataStorage {
     return NumberConversions.toDouble(get(path));
   }
 
+  /**
+   * Gets the double value with given compiled path, returns {@code 0D} when value wasn't existed.
+   *
+   * @param path Compiled path to double.
+   * @return The requested double.
+   * @see #get(ConfigPath)
+   */
+  default double getDouble(@NotNull ConfigPath path) {
+    return NumberConversions.toDouble(get(path));
+  }
+
   // boolean
 
   /**
@@ -387,7 +505,22 @@ public interface DataStorage {
    * @see #get(String)
    */
   default boolean getBoolean(@NotNull String path) {
-    var val = get(path);
+    return toBoolean(get(path));
+  }
+
+  /**
+   * Gets the boolean value with given compiled path, returns {@code false} when value wasn't
+   * existed.
+   *
+   * @param path Compiled path to boolean.
+   * @return The requested boolean.
+   * @see #get(ConfigPath)
+   */
+  default boolean getBoolean(@NotNull ConfigPath path) {
+    return toBoolean(get(path));
+  }
+
+  private static boolean toBoolean(Object val) {
     if (val instanceof Boolean) {
       return (boolean) val;
     }
@@ -421,6 +554,18 @@ public interface DataStorage {
     return String.valueOf(get(path));
   }
 
+  /**
+   * Gets the {@link String} value with given compiled path.
+   *
+   * @param path Compiled path to string.
+   * @return The requested string.
+   * @see #get(ConfigPath)
+   * @see String#valueOf(Object)
+   */
+  default @NotNull String getString(@NotNull ConfigPath path) {
+    return String.valueOf(get(path));
+  }
+
   // List
 
   /**
@@ -525,6 +670,74 @@ public interface DataStorage {
     return Collections.emptyList();
   }
 
+  /**
+   * Gets the {@code int} array value with given path as a read-only buffer.
+   *
+   * <p>The default implementation converts the list value into a new {@code int} array on
+   * every call.
+   *
+   * @param path Path to array.
+   * @return The requested array, empty when the value isn't a list.
+   * @see #getIntegerList(String)
+   */
+  default @UnmodifiableView @NotNull IntBuffer getIntArray(@NotNull String path) {
+    var val = get(path);
+    if (!(val instanceof List)) {
+      return IntBuffer.allocate(0).asReadOnlyBuffer();
+    }
+    var list = (List<?>) val;
+    var array = new int[list.size()];
+    for (var i = 0; i < array.length; i++) {
+      array[i] = NumberConversions.toInt(list.get(i));
+    }
+    return IntBuffer.wrap(array).asReadOnlyBuffer();
+  }
+
+  /**
+   * Gets the {@code long} array value with given path as a read-only buffer.
+   *
+   * <p>The default implementation converts the list value into a new {@code long} array on
+   * every call.
+   *
+   * @param path Path to array.
+   * @return The requested array, empty when the value isn't a list.
+   */
+  default @UnmodifiableView @NotNull LongBuffer getLongArray(@NotNull String path) {
+    var val = get(path);
+    if (!(val instanceof List)) {
+      return LongBuffer.allocate(0).asReadOnlyBuffer();
+    }
+    var list = (List<?>) val;
+    var array = new long[list.size()];
+    for (var i = 0; i < array.length; i++) {
+      array[i] = NumberConversions.toLong(list.get(i));
+    }
+    return LongBuffer.wrap(array).asReadOnlyBuffer();
+  }
+
+  /**
+   * Gets the {@code double} array value with given path as a read-only buffer.
+   *
+   * <p>The default implementation converts the list value into a new {@code double} array on
+   * every call.
+   *
+   * @param path Path to array.
+   * @return The requested array, empty when the value isn't a list.
+   * @see #getDoubleList(String)
+   */
+  default @UnmodifiableView @NotNull DoubleBuffer getDoubleArray(@NotNull String path) {
+    var val = get(path);
+    if (!(val instanceof List)) {
+      return DoubleBuffer.allocate(0).asReadOnlyBuffer();
+    }
+    var list = (List<?>) val;
+    var array = new double[list.size()];
+    for (var i = 0; i < array.length; i++) {
+      array[i] = NumberConversions.toDouble(list.get(i));
+    }
+    return DoubleBuffer.wrap(array).asReadOnlyBuffer();
+  }
+
   /**
    * Gets the {@code List&#60;Map&#60;String, ?>>} value with given path.
    *
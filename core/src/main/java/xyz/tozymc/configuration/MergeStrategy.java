@@ -0,0 +1,23 @@
+package xyz.tozymc.configuration;
+
+/**
+ * The list of strategies that define how {@link TcConfigSection#mergeTree(java.util.Map,
+ * MergeStrategy)} resolves a path that exists in both the section and the merged tree.
+ *
+ * <p>With either strategy, maps and serializable objects are merged into the existing child
+ * sections key by key instead of replacing them.
+ *
+ * @author TozyMC
+ * @since 1.0
+ */
+public enum MergeStrategy {
+  /**
+   * The values of the merged tree replace the existing values, a {@code null} value removes the
+   * path.
+   */
+  OVERWRITE,
+  /**
+   * The existing values are kept, only the paths missing in the section are added.
+   */
+  KEEP_EXISTING
+}
@@ -18,6 +18,17 @@ public interface TcConfig extends TcConfigSection {
    */
   @NotNull TcConfigOptions getOptions();
 
+  /**
+   * Takes a deeply immutable copy of this configuration.
+   *
+   * <p>The snapshot holds no reference to this configuration, reading it never reloads, saves or
+   * locks anything, and every attempt to modify it throws {@link UnsupportedOperationException}.
+   * The snapshot is meant to be taken once and shared between threads for frequent reads.
+   *
+   * @return The frozen copy of this configuration.
+   */
+  @NotNull TcConfig snapshot();
+
   @Override
   default @Nullable TcConfigSection getParent() {return null;}
 }
@@ -1,9 +1,17 @@
 package xyz.tozymc.configuration;
 
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
+import org.jetbrains.annotations.Unmodifiable;
+import org.jetbrains.annotations.UnmodifiableView;
 import xyz.tozymc.configuration.exception.TcConfigException;
+import xyz.tozymc.configuration.option.TcConfigOptions;
 
 /**
  * Represents configuration section.
@@ -50,6 +58,123 @@ public interface TcConfigSection extends DataStorage {
    */
   @Nullable TcConfigSection getChild(@NotNull String path);
 
+  /**
+   * Walks the tree of this section once, visiting every value in order.
+   *
+   * <p>Unlike iterating {@link #getKeys(boolean)} and calling {@link #get(String)} for each key,
+   * no path string is built and no value is looked up again unless the visitor asks for it.
+   *
+   * @param visitor The visitor of values.
+   * @see ConfigVisitor
+   */
+  void walk(@NotNull ConfigVisitor visitor);
+
+  /**
+   * Gets the deep keys of this section starting with the prefix, as returned by {@link
+   * #getKeys(boolean)}.
+   *
+   * <p>The prefix is compared as a string, use a prefix ending with the path separator to get only
+   * the keys below a section. Memory sections return a lazily iterated live view that walks only
+   * the matching subtrees, or the matching part of the sorted path index when it is enabled.
+   *
+   * @param prefix The prefix of keys.
+   * @return Keys starting with the prefix.
+   * @see TcConfigOptions#sortedPathIndex()
+   */
+  default @UnmodifiableView @NotNull Set<String> keysWithPrefix(@NotNull String prefix) {
+    Set<String> keys = new LinkedHashSet<>();
+    for (var key : getKeys(true)) {
+      if (key.startsWith(prefix)) {
+        keys.add(key);
+      }
+    }
+    return Collections.unmodifiableSet(keys);
+  }
+
+  /**
+   * Gets the deep keys of this section from {@code from} inclusive to {@code to} exclusive, in
+   * lexicographic order.
+   *
+   * <p>With the sorted path index enabled, memory sections return a lazily iterated live view of
+   * the index. Otherwise all deep keys are sorted on every call.
+   *
+   * @param from The lowest key, inclusive.
+   * @param to   The highest key, exclusive.
+   * @return Sorted keys in the range.
+   * @throws IllegalArgumentException Thrown when {@code from} is greater than {@code to}.
+   * @see TcConfigOptions#sortedPathIndex()
+   */
+  default @UnmodifiableView @NotNull Set<String> keysInRange(@NotNull String from,
+      @NotNull String to) {
+    return Collections.unmodifiableSortedSet(new TreeSet<>(getKeys(true)).subSet(from, to));
+  }
+
+  /**
+   * Selects the values of this section tree whose paths match the wildcard pattern.
+   *
+   * <p>The pattern is compiled with the path separator of the root config on every call, use
+   * {@link #select(ConfigQuery)} with a kept query for frequent queries.
+   *
+   * @param pattern The wildcard pattern, such as {@code servers.*.port} or {@code **.enabled}.
+   * @return Matched values keyed by their paths relative to this section, in walk order.
+   * @see ConfigQuery
+   */
+  default @Unmodifiable @NotNull Map<String, ?> select(@NotNull String pattern) {
+    return select(ConfigQuery.compile(pattern, this));
+  }
+
+  /**
+   * Selects the values of this section tree whose paths match the query.
+   *
+   * <p>The tree is walked once, matched child sections are included as sections. Memory sections
+   * cache the result for the query until the next change of this section tree.
+   *
+   * @param query The compiled query.
+   * @return Matched values keyed by their paths relative to this section, in walk order.
+   */
+  default @Unmodifiable @NotNull Map<String, ?> select(@NotNull ConfigQuery query) {
+    Map<String, Object> results = new LinkedHashMap<>();
+    walk(query.collector(results));
+    return Collections.unmodifiableMap(results);
+  }
+
+  /**
+   * Sets all values of the map, as if {@link #set(String, Object)} was called for each entry in
+   * the order of the map.
+   *
+   * <p>The section is walked once for the whole map and file configurations are saved at most
+   * once.
+   *
+   * @param values The values to set, keys are paths relative to this section.
+   */
+  default void putAll(@NotNull Map<String, ?> values) {
+    values.forEach(this::set);
+  }
+
+  /**
+   * Merges the tree of values into this section.
+   *
+   * <p>Nested maps are merged into the existing child sections instead of replacing them, paths
+   * existing in both trees are resolved by the strategy. The section is walked once for the whole
+   * tree and file configurations are saved at most once.
+   *
+   * @param values   The tree of values to merge, keys are paths relative to this section.
+   * @param strategy How to resolve paths existing in both trees.
+   * @see MergeStrategy
+   */
+  default void mergeTree(@NotNull Map<String, ?> values, @NotNull MergeStrategy strategy) {
+    values.forEach((path, value) -> {
+      var current = get(path);
+      if (value instanceof Map && current instanceof TcConfigSection) {
+        var tree = new LinkedHashMap<String, Object>();
+        ((Map<?, ?>) value).forEach((k, v) -> tree.put(String.valueOf(k), v));
+        ((TcConfigSection) current).mergeTree(tree, strategy);
+      } else if (strategy == MergeStrategy.OVERWRITE || current == null) {
+        set(path, value);
+      }
+    });
+  }
+
   /**
    * Gets the section that contains this section.
    *
@@ -4,6 +4,7 @@ import org.jetbrains.annotations.Contract;
 import org.jetbrains.annotations.NotNull;
 import xyz.tozymc.configuration.TcConfig;
 import xyz.tozymc.configuration.TcConfigSection;
+import xyz.tozymc.configuration.option.ConcurrencyMode;
 import xyz.tozymc.configuration.option.TcConfigOptions;
 
 /**
@@ -12,7 +13,9 @@ import xyz.tozymc.configuration.option.TcConfigOptions;
  * @param <T> The type of configuration.
  */
 public abstract class AbstractConfigBuilder<T extends TcConfig> {
-  private char pathSeparator;
+  private char pathSeparator = TcConfigOptions.DEFAULT_PATH_SEPARATOR;
+  private boolean pathIndex;
+  private ConcurrencyMode concurrencyMode = ConcurrencyMode.NONE;
 
   /**
    * Constructs new configuration builder.
@@ -41,6 +44,50 @@ public abstract class AbstractConfigBuilder<T extends TcConfig> {
     return this;
   }
 
+  /**
+   * Checks if the full path index is enabled, default is {@code false}.
+   *
+   * @return True if the full path index is enabled.
+   * @see TcConfigOptions#pathIndex()
+   */
+  public boolean pathIndex() {
+    return pathIndex;
+  }
+
+  /**
+   * Enables or disables the full path index.
+   *
+   * @param pathIndex True to enable the full path index.
+   * @return This builder, for chaining.
+   * @see TcConfigOptions#pathIndex()
+   */
+  public @NotNull AbstractConfigBuilder<T> pathIndex(boolean pathIndex) {
+    this.pathIndex = pathIndex;
+    return this;
+  }
+
+  /**
+   * Gets the mode that defines how the configuration can be shared between threads, default is
+   * {@link ConcurrencyMode#NONE}.
+   *
+   * @return The concurrency mode.
+   */
+  public @NotNull ConcurrencyMode concurrencyMode() {
+    return concurrencyMode;
+  }
+
+  /**
+   * Sets the mode that defines how the configuration can be shared between threads.
+   *
+   * @param concurrencyMode The concurrency mode.
+   * @return This builder, for chaining.
+   */
+  public @NotNull AbstractConfigBuilder<T> concurrencyMode(
+      @NotNull ConcurrencyMode concurrencyMode) {
+    this.concurrencyMode = concurrencyMode;
+    return this;
+  }
+
   /**
    * Creates new configuration with specified parameters.
    *
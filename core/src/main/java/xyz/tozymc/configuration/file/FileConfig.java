@@ -1,12 +1,24 @@
 package xyz.tozymc.configuration.file;
 
+import java.io.BufferedWriter;
 import java.io.IOException;
+import java.io.OutputStreamWriter;
 import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
 import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
 import java.nio.file.attribute.FileTime;
+import java.util.LinkedHashMap;
 import java.util.Map;
+import java.util.concurrent.ScheduledFuture;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
 import org.jetbrains.annotations.NotNull;
 import xyz.tozymc.configuration.TcConfig;
 import xyz.tozymc.configuration.TcConfigSection;
@@ -23,6 +35,16 @@ public abstract class FileConfig extends FileConfigSection implements TcConfig {
   private final Path path;
   protected FileConfigOptions options;
   private FileTime lastModifiedTime;
+  private volatile int batchDepth;
+  private volatile boolean dirty;
+  private volatile ScheduledFuture<?> pendingSave;
+  private RuntimeException writeBehindFailure;
+  private final Object writeLock = new Object();
+  private long snapshotVersion;
+  private long writtenVersion;
+  private volatile boolean writing;
+  private volatile boolean stale;
+  private volatile boolean watched;
 
   /**
    * Constructs new {@link FileConfigSection} with configuration file.
@@ -36,6 +58,13 @@ public abstract class FileConfig extends FileConfigSection implements TcConfig {
     updateLastModifiedTimeIfNeeded();
   }
 
+  @SuppressWarnings("unchecked")
+  private static Map<String, ?> copyValues(Map<String, ?> values) {
+    Map<String, Object> copy = new LinkedHashMap<>();
+    values.forEach((k, v) -> copy.put(k, v instanceof Map ? copyValues((Map<String, ?>) v) : v));
+    return copy;
+  }
+
   /**
    * Loads value to map from file.
    *
@@ -51,10 +80,41 @@ public abstract class FileConfig extends FileConfigSection implements TcConfig {
    */
   protected abstract String writeToString();
 
+  /**
+   * Writes this config to the writer to save in file.
+   *
+   * <p>The default implementation encodes the current values by {@link #writeTo(Writer, Map)},
+   * so the document is streamed without building the whole string. With {@link
+   * xyz.tozymc.configuration.option.ConcurrencyMode#READ_WRITE_LOCK} this is called while holding
+   * the read lock, so the values must be read by {@link #getValuesWithoutReload()} which never
+   * reloads.
+   *
+   * @param writer The writer of the document, it isn't closed by this method.
+   * @throws IOException Thrown when error when writing.
+   */
+  protected void writeTo(@NotNull Writer writer) throws IOException {
+    writeTo(writer, getValuesWithoutReload());
+  }
+
+  /**
+   * Writes the given values to the writer in the format of this config.
+   *
+   * <p>This is the encoder of the file format, every save writes the document by this method.
+   * Write-behind saves pass a copy of the values taken when the save starts, so that changes
+   * aren't blocked while the file is written, the values must not be read from this config.
+   *
+   * @param writer The writer of the document, it isn't closed by this method.
+   * @param values The values to write, in the form returned by {@link #getValuesWithoutReload()}.
+   * @throws IOException Thrown when error when writing.
+   */
+  protected abstract void writeTo(@NotNull Writer writer, @NotNull Map<String, ?> values)
+      throws IOException;
+
   /**
    * Reads data from file and loads it to memory.
    */
   public void reload() {
+    watchIfNeeded();
     updateLastModifiedTimeIfNeeded();
     Map<String, ?> values;
     try {
@@ -66,24 +126,309 @@ public abstract class FileConfig extends FileConfigSection implements TcConfig {
   }
 
   /**
-   * Writes data in memory to string and saves it to file.
+   * Writes data in memory and saves it to file.
+   *
+   * <p>The document is streamed to a temporary file in the same directory, which is synced to
+   * disk and then atomically moved over the file. A failed save leaves the previous file intact.
+   */
+  public synchronized void save() {
+    dirty = false;
+    var version = ++snapshotVersion;
+    synchronized (writeLock) {
+      writtenVersion = version;
+      writeFile(null);
+    }
+    updateLastModifiedTimeIfNeeded();
+  }
+
+  /**
+   * Writes the values, or the current values when {@code null}, to the file.
    */
-  public void save() {
-    var data = writeToString();
+  private void writeFile(Map<String, ?> values) {
     try {
-      Files.write(path, data.getBytes(StandardCharsets.UTF_8));
+      var target = Files.isSymbolicLink(path) ? path.toRealPath() : path.toAbsolutePath();
+      var temp = Files.createTempFile(target.getParent(), target.getFileName() + ".", ".tmp");
+      try {
+        writeTemp(temp, target, values);
+        moveAtomically(temp, target);
+      } catch (IOException | RuntimeException e) {
+        Files.deleteIfExists(temp);
+        throw e;
+      }
+      syncDirectory(target.getParent());
     } catch (IOException e) {
       throw new UncheckedIOException("Error when save configuration", e);
     }
-    updateLastModifiedTimeIfNeeded();
+  }
+
+  private void writeTemp(Path temp, Path target, Map<String, ?> values) throws IOException {
+    if (Files.exists(target)) {
+      try {
+        Files.setPosixFilePermissions(temp, Files.getPosixFilePermissions(target));
+      } catch (UnsupportedOperationException ignored) {
+        // not a posix file system, the temporary file keeps default permissions
+      }
+    }
+    try (var channel = FileChannel.open(temp, StandardOpenOption.WRITE)) {
+      var writer = new BufferedWriter(
+          new OutputStreamWriter(Channels.newOutputStream(channel), StandardCharsets.UTF_8));
+      if (values == null) {
+        writeLocked(writer);
+      } else {
+        writeTo(writer, values);
+      }
+      writer.flush();
+      channel.force(true);
+    }
+  }
+
+  /**
+   * Writes the current values, an in-place reload or change on another thread must not happen
+   * while they are encoded.
+   */
+  private void writeLocked(Writer writer) throws IOException {
+    var lock = getValuesReadLock();
+    if (lock == null) {
+      writeTo(writer);
+      return;
+    }
+    lock.lock();
+    try {
+      writeTo(writer);
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  private static void moveAtomically(Path source, Path target) throws IOException {
+    try {
+      Files.move(source, target, StandardCopyOption.ATOMIC_MOVE);
+    } catch (AtomicMoveNotSupportedException e) {
+      Files.move(source, target, StandardCopyOption.REPLACE_EXISTING);
+    }
+  }
+
+  /**
+   * Syncs the directory so the move survives a crash, not every platform can open a directory.
+   */
+  private static void syncDirectory(Path dir) {
+    try (var channel = FileChannel.open(dir, StandardOpenOption.READ)) {
+      channel.force(true);
+    } catch (IOException ignored) {
+      // the file itself is already synced
+    }
+  }
+
+  /**
+   * Runs the editor against this config, then saves the file once if anything was changed.
+   *
+   * <p>Every mutation done by the editor is applied to memory only, the file is written when the
+   * editor returns or throws.
+   *
+   * @param editor The action that edits this config.
+   * @see #beginBatch()
+   */
+  public synchronized void edit(@NotNull Consumer<? super FileConfig> editor) {
+    beginBatch();
+    try {
+      editor.accept(this);
+    } finally {
+      commitBatch();
+    }
+  }
+
+  /**
+   * Starts a batch, mutations will not save the file until the matching {@link #commitBatch()}.
+   *
+   * <p>Batches can be nested, only the outermost commit saves the file.
+   */
+  public synchronized void beginBatch() {
+    batchDepth++;
+  }
+
+  /**
+   * Ends the current batch and saves the file if it was changed during the batch.
+   *
+   * @throws IllegalStateException Thrown when no batch is in progress.
+   */
+  public synchronized void commitBatch() {
+    if (batchDepth == 0) {
+      throw new IllegalStateException("No batch in progress");
+    }
+    if (--batchDepth == 0 && dirty) {
+      requestSave();
+    }
+  }
+
+  /**
+   * Checks if a batch is in progress.
+   *
+   * @return True if a batch is in progress.
+   */
+  public synchronized boolean isBatching() {
+    return batchDepth > 0;
+  }
+
+  synchronized <R> R batch(Supplier<R> mutation) {
+    beginBatch();
+    try {
+      var result = mutation.get();
+      dirty = true;
+      return result;
+    } finally {
+      commitBatch();
+    }
+  }
+
+  /**
+   * Saves the pending changes immediately when write-behind is enabled.
+   *
+   * <p>This should be called before shutting down, the background saver runs on daemon thread.
+   *
+   * @throws UncheckedIOException Thrown when the last background save failed.
+   * @see FileConfigOptions#writeBehind()
+   */
+  public synchronized void flush() {
+    if (pendingSave != null) {
+      pendingSave.cancel(false);
+      pendingSave = null;
+    }
+    if (dirty) {
+      save();
+    }
+    while (writing) {
+      try {
+        wait();
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+        break;
+      }
+    }
+    notifyAll();
+    rethrowWriteBehindFailure();
+  }
+
+  /**
+   * Waits until the changes scheduled by write-behind are written to file.
+   *
+   * @throws InterruptedException Thrown when the current thread is interrupted while waiting.
+   * @throws UncheckedIOException Thrown when the last background save failed.
+   * @see FileConfigOptions#writeBehind()
+   */
+  public synchronized void awaitPersisted() throws InterruptedException {
+    while (pendingSave != null || writing) {
+      wait();
+    }
+    rethrowWriteBehindFailure();
+  }
+
+  private void requestSave() {
+    var delay = options.writeBehind();
+    if (delay == null) {
+      save();
+      return;
+    }
+    if (pendingSave == null) {
+      pendingSave = WriteBehindExecutor.schedule(this::saveBehind, delay);
+    }
+  }
+
+  /**
+   * Copies the values while holding this config, then encodes and writes the copy without holding
+   * it, so that changes made meanwhile don't wait for the disk.
+   */
+  private void saveBehind() {
+    Map<String, ?> values;
+    long version;
+    synchronized (this) {
+      pendingSave = null;
+      if (!dirty) {
+        notifyAll();
+        return;
+      }
+      dirty = false;
+      writing = true;
+      var lock = getValuesReadLock();
+      if (lock != null) {
+        lock.lock();
+      }
+      try {
+        values = copyValues(getValuesWithoutReload());
+      } finally {
+        if (lock != null) {
+          lock.unlock();
+        }
+      }
+      version = ++snapshotVersion;
+    }
+
+    RuntimeException failure = null;
+    try {
+      synchronized (writeLock) {
+        // a later save may have written newer values already
+        if (version > writtenVersion) {
+          writtenVersion = version;
+          writeFile(values);
+        }
+      }
+    } catch (RuntimeException e) {
+      failure = e;
+    }
+    synchronized (this) {
+      writing = false;
+      if (failure != null) {
+        writeBehindFailure = failure;
+      } else {
+        updateLastModifiedTimeIfNeeded();
+      }
+      notifyAll();
+    }
+  }
+
+  private void rethrowWriteBehindFailure() {
+    var failure = writeBehindFailure;
+    if (failure != null) {
+      writeBehindFailure = null;
+      throw failure;
+    }
   }
 
   private void updateLastModifiedTimeIfNeeded() {
-    if (options.reloadType().equals(ReloadableType.INTELLIGENT)) {
+    var reloadableType = options.reloadType();
+    if (reloadableType.equals(ReloadableType.INTELLIGENT)
+        || reloadableType.equals(ReloadableType.WATCH)) {
       updateLastModifiedTime();
     }
   }
 
+  private void watchIfNeeded() {
+    var watch = options.reloadType().equals(ReloadableType.WATCH);
+    if (!watched && watch) {
+      watched = true;
+      stale = true;
+      FileConfigWatcher.watch(this);
+    } else if (watched && !watch) {
+      watched = false;
+      FileConfigWatcher.unwatch(this);
+    }
+  }
+
+  void markStale() {
+    stale = true;
+  }
+
+  void markUnwatched() {
+    watched = false;
+    stale = true;
+  }
+
+  /**
+   * Changes made in memory but not written yet would be lost by reloading the file.
+   */
+  private boolean hasUnsavedChanges() {
+    return batchDepth > 0 || dirty || pendingSave != null || writing;
+  }
+
   private FileTime updateLastModifiedTime() {
     var peek = lastModifiedTime;
     try {
@@ -96,18 +441,28 @@ public abstract class FileConfig extends FileConfigSection implements TcConfig {
 
   private boolean shouldReload() {
     var peek = updateLastModifiedTime();
-    return peek.compareTo(lastModifiedTime) != 0;
+    return peek == null || peek.compareTo(lastModifiedTime) != 0;
   }
 
   protected void reloadIfNeeded() {
     var reloadableType = options.reloadType();
-    if (reloadableType.equals(ReloadableType.MANUALLY)) {
+    if (watched && !reloadableType.equals(ReloadableType.WATCH)) {
+      watchIfNeeded();
+    }
+    if (reloadableType.equals(ReloadableType.MANUALLY) || hasUnsavedChanges()) {
       return;
     }
     if (reloadableType.equals(ReloadableType.AUTOMATICALLY)) {
       reload();
       return;
     }
+    if (reloadableType.equals(ReloadableType.WATCH)) {
+      watchIfNeeded();
+      if (!stale) {
+        return;
+      }
+      stale = false;
+    }
     if (shouldReload()) {
       reload();
     }
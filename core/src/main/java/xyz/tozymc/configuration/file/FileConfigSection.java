@@ -1,10 +1,22 @@
 package xyz.tozymc.configuration.file;
 
+import java.nio.DoubleBuffer;
+import java.nio.IntBuffer;
+import java.nio.LongBuffer;
+import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.function.BiFunction;
+import java.util.function.Function;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
+import org.jetbrains.annotations.Unmodifiable;
 import org.jetbrains.annotations.UnmodifiableView;
+import xyz.tozymc.configuration.ConfigPath;
+import xyz.tozymc.configuration.ConfigQuery;
+import xyz.tozymc.configuration.ConfigVisitor;
+import xyz.tozymc.configuration.MergeStrategy;
+import xyz.tozymc.configuration.TcConfig;
 import xyz.tozymc.configuration.TcConfigSection;
 import xyz.tozymc.configuration.exception.TcConfigException;
 import xyz.tozymc.configuration.memory.MemoryConfigSection;
@@ -26,7 +38,7 @@ public class FileConfigSection extends MemoryConfigSection {
    * @hidden
    */
   protected Map<String, ?> getValuesWithoutReload() {
-    return super.getValues();
+    return getRawValuesView();
   }
 
   @Override
@@ -40,18 +52,174 @@ public class FileConfigSection extends MemoryConfigSection {
     return super.getOrDefault(path, def);
   }
 
+  @Override
+  public @Nullable Object getOrDefault(@NotNull ConfigPath path, @Nullable Object def) {
+    getRoot().reloadIfNeeded();
+    return super.getOrDefault(path, def);
+  }
+
+  @Override
+  public int getInt(@NotNull String path) {
+    getRoot().reloadIfNeeded();
+    return super.getInt(path);
+  }
+
+  @Override
+  public int getInt(@NotNull ConfigPath path) {
+    getRoot().reloadIfNeeded();
+    return super.getInt(path);
+  }
+
+  @Override
+  public long getLong(@NotNull String path) {
+    getRoot().reloadIfNeeded();
+    return super.getLong(path);
+  }
+
+  @Override
+  public long getLong(@NotNull ConfigPath path) {
+    getRoot().reloadIfNeeded();
+    return super.getLong(path);
+  }
+
+  @Override
+  public double getDouble(@NotNull String path) {
+    getRoot().reloadIfNeeded();
+    return super.getDouble(path);
+  }
+
+  @Override
+  public double getDouble(@NotNull ConfigPath path) {
+    getRoot().reloadIfNeeded();
+    return super.getDouble(path);
+  }
+
+  @Override
+  public boolean getBoolean(@NotNull String path) {
+    getRoot().reloadIfNeeded();
+    return super.getBoolean(path);
+  }
+
+  @Override
+  public boolean getBoolean(@NotNull ConfigPath path) {
+    getRoot().reloadIfNeeded();
+    return super.getBoolean(path);
+  }
+
+  @Override
+  public @UnmodifiableView @NotNull List<?> getList(@NotNull String path) {
+    getRoot().reloadIfNeeded();
+    return super.getList(path);
+  }
+
+  @Override
+  public @UnmodifiableView @NotNull IntBuffer getIntArray(@NotNull String path) {
+    getRoot().reloadIfNeeded();
+    return super.getIntArray(path);
+  }
+
+  @Override
+  public @UnmodifiableView @NotNull LongBuffer getLongArray(@NotNull String path) {
+    getRoot().reloadIfNeeded();
+    return super.getLongArray(path);
+  }
+
+  @Override
+  public @UnmodifiableView @NotNull DoubleBuffer getDoubleArray(@NotNull String path) {
+    getRoot().reloadIfNeeded();
+    return super.getDoubleArray(path);
+  }
+
   @Override
   public @Nullable Object set(@NotNull String path, @Nullable Object value) {
-    var old = super.set(path, value);
-    getRoot().save();
-    return old;
+    return getRoot().batch(() -> super.set(path, value));
+  }
+
+  @Override
+  public @Nullable Object set(@NotNull ConfigPath path, @Nullable Object value) {
+    return getRoot().batch(() -> super.set(path, value));
   }
 
   @Override
   public @Nullable Object setIfAbsent(@NotNull String path, @Nullable Object value) {
-    var old = super.setIfAbsent(path, value);
-    getRoot().save();
-    return old;
+    return getRoot().batch(() -> super.setIfAbsent(path, value));
+  }
+
+  @Override
+  public boolean replace(@NotNull String path, @NotNull Object oldValue,
+      @Nullable Object newValue) {
+    return getRoot().batch(() -> super.replace(path, oldValue, newValue));
+  }
+
+  @Override
+  public <T> @Nullable T computeIfAbsent(@NotNull String path, @NotNull Class<T> type,
+      @NotNull Function<String, ? extends T> mappingFn) {
+    return getRoot().batch(() -> super.computeIfAbsent(path, type, mappingFn));
+  }
+
+  @Override
+  public <T> @Nullable T computeIfPresent(@NotNull String path, @NotNull Class<T> type,
+      @NotNull BiFunction<String, ? super T, ? extends T> remappingFn) {
+    return getRoot().batch(() -> super.computeIfPresent(path, type, remappingFn));
+  }
+
+  @Override
+  public <T> @Nullable T compute(@NotNull String path, @NotNull Class<T> type,
+      @NotNull BiFunction<String, ? super T, ? extends T> remappingFn) {
+    return getRoot().batch(() -> super.compute(path, type, remappingFn));
+  }
+
+  @Override
+  public <T> @Nullable T merge(@NotNull String path, @NotNull Class<T> type, @Nullable T value,
+      @NotNull BiFunction<? super T, ? super T, ? extends T> remappingFn) {
+    return getRoot().batch(() -> super.merge(path, type, value, remappingFn));
+  }
+
+  @Override
+  public void putAll(@NotNull Map<String, ?> values) {
+    getRoot().batch(() -> {
+      super.putAll(values);
+      return null;
+    });
+  }
+
+  @Override
+  public void mergeTree(@NotNull Map<String, ?> values, @NotNull MergeStrategy strategy) {
+    getRoot().batch(() -> {
+      super.mergeTree(values, strategy);
+      return null;
+    });
+  }
+
+  @Override
+  public @NotNull TcConfig snapshot() {
+    getRoot().reloadIfNeeded();
+    return super.snapshot();
+  }
+
+  @Override
+  public void walk(@NotNull ConfigVisitor visitor) {
+    getRoot().reloadIfNeeded();
+    super.walk(visitor);
+  }
+
+  @Override
+  public @UnmodifiableView @NotNull Set<String> keysWithPrefix(@NotNull String prefix) {
+    getRoot().reloadIfNeeded();
+    return super.keysWithPrefix(prefix);
+  }
+
+  @Override
+  public @UnmodifiableView @NotNull Set<String> keysInRange(@NotNull String from,
+      @NotNull String to) {
+    getRoot().reloadIfNeeded();
+    return super.keysInRange(from, to);
+  }
+
+  @Override
+  public @Unmodifiable @NotNull Map<String, ?> select(@NotNull ConfigQuery query) {
+    getRoot().reloadIfNeeded();
+    return super.select(query);
   }
 
   @Override
@@ -66,19 +234,21 @@ public class FileConfigSection extends MemoryConfigSection {
     return super.getValues();
   }
 
+  @Override
+  public @UnmodifiableView @NotNull Map<String, ?> valuesView() {
+    getRoot().reloadIfNeeded();
+    return super.valuesView();
+  }
+
   @Override
   public @NotNull TcConfigSection createChild(@NotNull String path) throws TcConfigException {
-    var child = super.createChild(path);
-    getRoot().save();
-    return child;
+    return getRoot().batch(() -> super.createChild(path));
   }
 
   @Override
   public @NotNull TcConfigSection createChild(@NotNull String path, Map<String, ?> values)
       throws TcConfigException {
-    var child = super.createChild(path, values);
-    getRoot().save();
-    return child;
+    return getRoot().batch(() -> super.createChild(path, values));
   }
 
   @Override
@@ -0,0 +1,200 @@
+package xyz.tozymc.configuration.file;
+
+import static java.nio.file.StandardWatchEventKinds.ENTRY_CREATE;
+import static java.nio.file.StandardWatchEventKinds.ENTRY_MODIFY;
+import static java.nio.file.StandardWatchEventKinds.OVERFLOW;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.WeakReference;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.FileSystems;
+import java.nio.file.Path;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Predicate;
+
+/**
+ * Watches the directories of the configs using {@link
+ * xyz.tozymc.configuration.file.option.ReloadableType#WATCH}.
+ *
+ * <p>The key of a directory is cancelled when its last config is unwatched or garbage collected,
+ * the watch service and its thread are closed when no directory is left.
+ */
+final class FileConfigWatcher {
+  private static final long POLL_SECONDS = 1;
+
+  private static FileConfigWatcher instance;
+
+  private final WatchService watchService;
+  private final Map<Path, WatchedDir> watchedDirs = new HashMap<>();
+  private final ReferenceQueue<FileConfig> collected = new ReferenceQueue<>();
+
+  private FileConfigWatcher() throws IOException {
+    this.watchService = FileSystems.getDefault().newWatchService();
+    var thread = new Thread(this::run, "tc-config-watcher");
+    thread.setDaemon(true);
+    thread.start();
+  }
+
+  static synchronized void watch(FileConfig config) {
+    try {
+      if (instance == null) {
+        instance = new FileConfigWatcher();
+      }
+      instance.register(config);
+    } catch (IOException e) {
+      throw new UncheckedIOException("Error when watching configuration file", e);
+    }
+  }
+
+  static synchronized void unwatch(FileConfig config) {
+    if (instance != null) {
+      var dir = normalize(config.getPath()).getParent();
+      instance.removeIf(dir, ref -> ref.get() == null || ref.get() == config);
+    }
+  }
+
+  /**
+   * Gets the number of watched directories, 0 when the watcher is closed.
+   */
+  static synchronized int watchedDirCount() {
+    return instance == null ? 0 : instance.watchedDirs.size();
+  }
+
+  private static Path normalize(Path path) {
+    return path.toAbsolutePath().normalize();
+  }
+
+  private void register(FileConfig config) throws IOException {
+    var dir = normalize(config.getPath()).getParent();
+    var watched = watchedDirs.get(dir);
+    if (watched == null || !watched.key.isValid()) {
+      var key = dir.register(watchService, ENTRY_CREATE, ENTRY_MODIFY);
+      var next = new WatchedDir(key);
+      if (watched != null) {
+        next.configs.addAll(watched.configs);
+      }
+      watched = next;
+      watchedDirs.put(dir, watched);
+    }
+    watched.configs.removeIf(ref -> ref.get() == null);
+    watched.configs.add(new WeakReference<>(config, collected));
+  }
+
+  /**
+   * Removes the configs matched by the filter, the directory is no longer watched when no config
+   * is left.
+   */
+  private void removeIf(Path dir, Predicate<WeakReference<FileConfig>> filter) {
+    var watched = watchedDirs.get(dir);
+    if (watched == null) {
+      return;
+    }
+    watched.configs.removeIf(filter);
+    if (watched.configs.isEmpty()) {
+      watched.key.cancel();
+      watchedDirs.remove(dir);
+      closeIfUnused();
+    }
+  }
+
+  private void closeIfUnused() {
+    if (!watchedDirs.isEmpty()) {
+      return;
+    }
+    if (instance == this) {
+      instance = null;
+    }
+    try {
+      watchService.close();
+    } catch (IOException ignored) {
+      // the watcher thread stops on the next poll anyway
+    }
+  }
+
+  private void markStale(Path dir, Path changed) {
+    synchronized (FileConfigWatcher.class) {
+      removeIf(dir, ref -> {
+        var config = ref.get();
+        if (config == null) {
+          return true;
+        }
+        if (changed == null || normalize(config.getPath()).equals(changed)) {
+          config.markStale();
+        }
+        return false;
+      });
+    }
+  }
+
+  private void removeCollected() {
+    if (collected.poll() == null) {
+      return;
+    }
+    while (collected.poll() != null) {
+      // drain, every directory is checked below
+    }
+    synchronized (FileConfigWatcher.class) {
+      for (var dir : new ArrayList<>(watchedDirs.keySet())) {
+        removeIf(dir, ref -> ref.get() == null);
+      }
+    }
+  }
+
+  private void unregister(Path dir, WatchKey key) {
+    synchronized (FileConfigWatcher.class) {
+      var watched = watchedDirs.get(dir);
+      if (watched == null || watched.key != key) {
+        return;
+      }
+      watchedDirs.remove(dir);
+      watched.configs.forEach(ref -> {
+        var config = ref.get();
+        if (config != null) {
+          config.markUnwatched();
+        }
+      });
+      closeIfUnused();
+    }
+  }
+
+  private void run() {
+    while (true) {
+      WatchKey key;
+      try {
+        key = watchService.poll(POLL_SECONDS, TimeUnit.SECONDS);
+      } catch (InterruptedException | ClosedWatchServiceException e) {
+        return;
+      }
+      removeCollected();
+      if (key == null) {
+        continue;
+      }
+      var dir = (Path) key.watchable();
+      for (var event : key.pollEvents()) {
+        if (event.kind() == OVERFLOW) {
+          markStale(dir, null);
+        } else {
+          markStale(dir, dir.resolve((Path) event.context()));
+        }
+      }
+      if (!key.reset()) {
+        unregister(dir, key);
+      }
+    }
+  }
+
+  private static final class WatchedDir {
+    private final WatchKey key;
+    private final List<WeakReference<FileConfig>> configs = new ArrayList<>();
+
+    private WatchedDir(WatchKey key) {this.key = key;}
+  }
+}
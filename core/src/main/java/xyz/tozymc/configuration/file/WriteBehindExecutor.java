@@ -0,0 +1,24 @@
+package xyz.tozymc.configuration.file;
+
+import java.time.Duration;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+final class WriteBehindExecutor {
+  private WriteBehindExecutor() {}
+
+  static ScheduledFuture<?> schedule(Runnable task, Duration delay) {
+    return Holder.EXECUTOR.schedule(task, delay.toNanos(), TimeUnit.NANOSECONDS);
+  }
+
+  private static final class Holder {
+    private static final ScheduledExecutorService EXECUTOR =
+        Executors.newSingleThreadScheduledExecutor(task -> {
+          var thread = new Thread(task, "tc-config-write-behind");
+          thread.setDaemon(true);
+          return thread;
+        });
+  }
+}
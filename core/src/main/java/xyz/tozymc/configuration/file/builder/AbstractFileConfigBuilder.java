@@ -5,6 +5,7 @@ import java.io.InputStream;
 import java.io.UncheckedIOException;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.time.Duration;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 import xyz.tozymc.configuration.builder.AbstractConfigBuilder;
@@ -23,6 +24,7 @@ public abstract class AbstractFileConfigBuilder<T extends FileConfig> extends
   private final Path configPath;
   private InputStream defaultStream;
   private ReloadableType reloadableType = ReloadableType.MANUALLY;
+  private Duration writeBehind;
 
   /**
    * Constructs new file configuration builder with config {@link Path}.
@@ -104,12 +106,41 @@ public abstract class AbstractFileConfigBuilder<T extends FileConfig> extends
     return this;
   }
 
+  /**
+   * Gets the write-behind delay, default is {@code null} (save on the calling thread).
+   *
+   * @return The write-behind delay.
+   */
+  public @Nullable Duration writeBehind() {
+    return writeBehind;
+  }
+
+  /**
+   * Sets the write-behind delay, changes are saved in background after this delay.
+   *
+   * @param delay The write-behind delay, {@code null} to save on the calling thread.
+   * @return This builder, for chaining.
+   * @throws IllegalArgumentException Thrown when the delay is zero or negative.
+   */
+  public @NotNull AbstractFileConfigBuilder<T> writeBehind(@Nullable Duration delay) {
+    if (delay != null && (delay.isZero() || delay.isNegative())) {
+      throw new IllegalArgumentException("Write-behind delay must be positive: " + delay);
+    }
+    this.writeBehind = delay;
+    return this;
+  }
+
   public T createConfig() {
     createFileIfNotExist();
     saveDefaultConfig();
 
     var config = buildConfig();
-    config.getOptions().reloadType(reloadableType).pathSeparator(pathSeparator());
+    config.getOptions()
+        .reloadType(reloadableType)
+        .writeBehind(writeBehind)
+        .pathSeparator(pathSeparator())
+        .pathIndex(pathIndex())
+        .concurrencyMode(concurrencyMode());
     return config;
   }
 
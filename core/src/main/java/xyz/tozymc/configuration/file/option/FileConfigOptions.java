@@ -1,6 +1,8 @@
 package xyz.tozymc.configuration.file.option;
 
+import java.time.Duration;
 import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
 import xyz.tozymc.configuration.file.FileConfig;
 import xyz.tozymc.configuration.option.TcConfigOptions;
 
@@ -12,6 +14,7 @@ import xyz.tozymc.configuration.option.TcConfigOptions;
  */
 public class FileConfigOptions extends TcConfigOptions {
   private ReloadableType reloadableType = ReloadableType.MANUALLY;
+  private Duration writeBehind;
 
   /**
    * Creates new {@link FileConfigOptions} for {@link FileConfig}.
@@ -40,6 +43,36 @@ public class FileConfigOptions extends TcConfigOptions {
     return this;
   }
 
+  /**
+   * Gets the write-behind delay, default is {@code null}.
+   *
+   * <p>When the delay is {@code null}, the configuration is saved on the thread that changed it.
+   * Otherwise, changes are saved in background after the delay, all changes made during the delay
+   * are written at once.
+   *
+   * @return The write-behind delay.
+   * @see FileConfig#flush()
+   */
+  public @Nullable Duration writeBehind() {
+    return writeBehind;
+  }
+
+  /**
+   * Sets the write-behind delay, {@code null} to save on the thread that changed the
+   * configuration.
+   *
+   * @param delay The write-behind delay.
+   * @return This object, for chaining.
+   * @throws IllegalArgumentException Thrown when the delay is zero or negative.
+   */
+  public @NotNull FileConfigOptions writeBehind(@Nullable Duration delay) {
+    if (delay != null && (delay.isZero() || delay.isNegative())) {
+      throw new IllegalArgumentException("Write-behind delay must be positive: " + delay);
+    }
+    this.writeBehind = delay;
+    return this;
+  }
+
   @Override
   public @NotNull FileConfig config() {
     return (FileConfig) super.config();
@@ -21,6 +21,14 @@ public enum ReloadableType {
    * to the old value.
    */
   INTELLIGENT,
+  /**
+   * The configuration will be reloaded when the file system reports that the config file was
+   * modified.
+   *
+   * <p>All watched configurations share one watcher thread, reading a value does not touch the
+   * file system until a change was reported.
+   */
+  WATCH,
   /**
    * {@link FileConfig} will be reloaded manually by executing reload method.
    */
@@ -0,0 +1,348 @@
+package xyz.tozymc.configuration.memory;
+
+import java.lang.reflect.Array;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Unmodifiable;
+import xyz.tozymc.configuration.memory.PrimitiveArrays.PrimitiveList;
+
+/**
+ * Estimated heap footprint of a {@link MemoryConfigSection} tree.
+ *
+ * <p>The statistics are computed by one walk of the section tree. Sizes are estimated for a 64-bit
+ * JVM with compressed references and count the sections, their value tables, the keys and the
+ * stored values. Strings referenced more than once are counted once, the caches built by reads
+ * aren't counted. Sections loaded lazily are measured as the loaded maps, the walk doesn't turn
+ * them into tables.
+ *
+ * @author TozyMC
+ * @see MemoryConfigSection#memoryStats()
+ * @since 1.0
+ */
+public final class ConfigMemoryStats {
+  static final long TABLE_BYTES = 40;
+  static final long HASH_ENTRY_BYTES = 32;
+  static final long SKIP_LIST_ENTRY_BYTES = 48;
+
+  private static final long SECTION_BYTES = 40;
+  private static final long STORAGE_BYTES = 80;
+  private static final long STRING_BYTES = 24;
+  private static final long LINKED_MAP_BYTES = 56;
+  private static final long LINKED_ENTRY_BYTES = 40;
+  private static final long LIST_BYTES = 24;
+  private static final long OBJECT_BYTES = 16;
+  private static final long WIDE_BOX_BYTES = 24;
+  private static final Class<?>[] PRIMITIVE_TYPES =
+      {null, Integer.class, Long.class, Double.class, Boolean.class};
+
+  private final long retainedBytes;
+  private final long indexBytes;
+  private final int sectionCount;
+  private final Map<Class<?>, Integer> leafCounts;
+  private final int[] depthHistogram;
+  private final int stringCount;
+  private final int duplicateStringCount;
+  private final Map<String, Long> sectionBytes;
+
+  private ConfigMemoryStats(Walker walker, long bytes, long indexBytes) {
+    this.retainedBytes = bytes + indexBytes;
+    this.indexBytes = indexBytes;
+    this.sectionCount = walker.sectionCount;
+    this.leafCounts = Collections.unmodifiableMap(walker.leafCounts);
+    this.depthHistogram = Arrays.copyOf(walker.depths, walker.maxDepth);
+    this.stringCount = walker.stringCount;
+    this.duplicateStringCount = walker.duplicateStringCount;
+    this.sectionBytes = Collections.unmodifiableMap(walker.sectionBytes);
+  }
+
+  static ConfigMemoryStats compute(MemoryConfigSection section) {
+    var walker = new Walker(section.getRoot().getOptions().pathSeparator());
+    var bytes = walker.section(section, "", 0);
+    var index = section.getRoot() == section ? section.storage.builtPathIndex() : null;
+    return new ConfigMemoryStats(walker, bytes, index != null ? index.estimatedBytes() : 0);
+  }
+
+  static long align(long bytes) {
+    return (bytes + 7) & ~7L;
+  }
+
+  static long arrayBytes(int length, int elementSize) {
+    return length == 0 ? 0 : align(16L + (long) length * elementSize);
+  }
+
+  static long stringBytes(String string) {
+    var latin1 = true;
+    for (var i = 0; i < string.length() && latin1; i++) {
+      latin1 = string.charAt(i) <= 0xFF;
+    }
+    return STRING_BYTES + arrayBytes(string.length(), latin1 ? 1 : 2);
+  }
+
+  private static int elementSize(Class<?> componentType) {
+    if (componentType == long.class || componentType == double.class) {
+      return 8;
+    }
+    if (componentType == byte.class || componentType == boolean.class) {
+      return 1;
+    }
+    if (componentType == short.class || componentType == char.class) {
+      return 2;
+    }
+    return 4;
+  }
+
+  /**
+   * Gets the estimated bytes retained by this section tree, including the path index when the
+   * stats are of the root config.
+   *
+   * @return Estimated retained bytes.
+   */
+  public long retainedBytes() {
+    return retainedBytes;
+  }
+
+  /**
+   * Gets the estimated bytes of the path index, only counted for the root config.
+   *
+   * @return Estimated bytes of the path index, or 0 when the index isn't built.
+   * @see xyz.tozymc.configuration.option.TcConfigOptions#pathIndex()
+   */
+  public long indexBytes() {
+    return indexBytes;
+  }
+
+  /**
+   * Gets the number of sections in the tree, including the measured section.
+   *
+   * @return Number of sections.
+   */
+  public int sectionCount() {
+    return sectionCount;
+  }
+
+  /**
+   * Gets the number of values that aren't sections.
+   *
+   * @return Number of leaf values.
+   */
+  public int leafCount() {
+    var count = 0;
+    for (var typeCount : leafCounts.values()) {
+      count += typeCount;
+    }
+    return count;
+  }
+
+  /**
+   * Gets the number of values that aren't sections by type, unboxed primitives are counted by
+   * their wrapper types and primitive lists by their array types.
+   *
+   * @return Leaf counts by value type, in the order the types were found.
+   */
+  public @Unmodifiable @NotNull Map<Class<?>, Integer> leafCounts() {
+    return leafCounts;
+  }
+
+  /**
+   * Gets the number of values at each depth, the element at index 0 counts the values of the
+   * measured section.
+   *
+   * @return New array of value counts by depth.
+   */
+  public int @NotNull [] depthHistogram() {
+    return depthHistogram.clone();
+  }
+
+  /**
+   * Gets the number of distinct string objects of the keys, names and values.
+   *
+   * @return Number of strings.
+   */
+  public int stringCount() {
+    return stringCount;
+  }
+
+  /**
+   * Gets the number of string objects equal to another counted string, that is the strings that
+   * interning would remove.
+   *
+   * @return Number of duplicate strings.
+   */
+  public int duplicateStringCount() {
+    return duplicateStringCount;
+  }
+
+  /**
+   * Gets the ratio of duplicate strings to all counted strings.
+   *
+   * @return Duplicate string ratio from 0 to 1.
+   */
+  public double duplicateStringRatio() {
+    return stringCount == 0 ? 0 : (double) duplicateStringCount / stringCount;
+  }
+
+  /**
+   * Gets the estimated retained bytes of every child section tree, keyed by path relative to the
+   * measured section. The bytes of a child are included in the bytes of its ancestors.
+   *
+   * @return Estimated bytes by section path, in walk order.
+   */
+  public @Unmodifiable @NotNull Map<String, Long> sectionBytes() {
+    return sectionBytes;
+  }
+
+  @Override
+  public String toString() {
+    return "ConfigMemoryStats{retainedBytes=" + retainedBytes + ", indexBytes=" + indexBytes
+        + ", sectionCount=" + sectionCount + ", leafCount=" + leafCount() + ", depthHistogram="
+        + Arrays.toString(depthHistogram) + ", duplicateStringRatio=" + duplicateStringRatio()
+        + '}';
+  }
+
+  private static final class Walker {
+    private final char separator;
+    private final Set<String> seen = Collections.newSetFromMap(new IdentityHashMap<>());
+    private final Set<String> distinct = new HashSet<>();
+    private final Map<Class<?>, Integer> leafCounts = new LinkedHashMap<>();
+    private final Map<String, Long> sectionBytes = new LinkedHashMap<>();
+    private int[] depths = new int[8];
+    private int maxDepth;
+    private int sectionCount;
+    private int stringCount;
+    private int duplicateStringCount;
+
+    private Walker(char separator) {this.separator = separator;}
+
+    private static int tableLength(int size) {
+      return size == 0 ? 0 : Integer.highestOneBit(Math.max(1, size * 4 / 3 - 1)) << 1;
+    }
+
+    private String childPath(String path, String key) {
+      return path.isEmpty() ? key : path + separator + key;
+    }
+
+    private long section(MemoryConfigSection section, String path, int level) {
+      sectionCount++;
+      var bytes = SECTION_BYTES + STORAGE_BYTES + string(section.getName())
+          + string(section.getFullPath());
+      var pending = section.storage.pendingValues();
+      if (pending != null) {
+        return bytes + loaded(pending, path, level);
+      }
+
+      var table = section.storage.values();
+      bytes += table.estimatedBytes();
+      for (var i = 0; i < table.size(); i++) {
+        var key = table.keyAt(i);
+        bytes += string(key);
+        count(level);
+        var val = table.objectAt(i);
+        if (val instanceof MemoryConfigSection) {
+          var child = childPath(path, key);
+          sectionBytes.put(child, 0L);
+          var childBytes = section((MemoryConfigSection) val, child, level + 1);
+          sectionBytes.put(child, childBytes);
+          bytes += childBytes;
+        } else if (table.kind(i) != ValueTable.OBJECT) {
+          leaf(PRIMITIVE_TYPES[table.kind(i)]);
+        } else {
+          leaf(PrimitiveArrays.unwrap(val).getClass());
+          bytes += value(val);
+        }
+      }
+      return bytes;
+    }
+
+    private long loaded(Map<?, ?> map, String path, int level) {
+      var bytes = LINKED_MAP_BYTES + arrayBytes(tableLength(map.size()), 4)
+          + map.size() * LINKED_ENTRY_BYTES;
+      for (var entry : map.entrySet()) {
+        var key = String.valueOf(entry.getKey());
+        bytes += entry.getKey() instanceof String ? string(key) : 0;
+        count(level);
+        var val = entry.getValue();
+        if (val instanceof Map) {
+          sectionCount++;
+          var child = childPath(path, key);
+          sectionBytes.put(child, 0L);
+          var childBytes = loaded((Map<?, ?>) val, child, level + 1);
+          sectionBytes.put(child, childBytes);
+          bytes += childBytes;
+        } else if (val != null) {
+          leaf(PrimitiveArrays.unwrap(val).getClass());
+          bytes += value(val);
+        }
+      }
+      return bytes;
+    }
+
+    private long value(Object val) {
+      if (val == null || val instanceof Boolean) {
+        return 0;
+      }
+      if (val instanceof String) {
+        return string((String) val);
+      }
+      if (val instanceof PrimitiveList) {
+        return LIST_BYTES + value(((PrimitiveList<?>) val).array());
+      }
+      if (val instanceof Long || val instanceof Double) {
+        return WIDE_BOX_BYTES;
+      }
+      if (val instanceof Number || val instanceof Character) {
+        return OBJECT_BYTES;
+      }
+      if (val instanceof Collection) {
+        var collection = (Collection<?>) val;
+        var bytes = LIST_BYTES + arrayBytes(collection.size(), 4);
+        for (var element : collection) {
+          bytes += value(element);
+        }
+        return bytes;
+      }
+      var type = val.getClass().getComponentType();
+      if (type == null) {
+        return OBJECT_BYTES;
+      }
+      var length = Array.getLength(val);
+      if (type.isPrimitive()) {
+        return arrayBytes(length, elementSize(type));
+      }
+      var bytes = arrayBytes(length, 4);
+      for (var i = 0; i < length; i++) {
+        bytes += value(Array.get(val, i));
+      }
+      return bytes;
+    }
+
+    private long string(String string) {
+      if (!seen.add(string)) {
+        return 0;
+      }
+      stringCount++;
+      if (!distinct.add(string)) {
+        duplicateStringCount++;
+      }
+      return stringBytes(string);
+    }
+
+    private void leaf(Class<?> type) {
+      leafCounts.merge(type, 1, Integer::sum);
+    }
+
+    private void count(int level) {
+      if (level == depths.length) {
+        depths = Arrays.copyOf(depths, level << 1);
+      }
+      depths[level]++;
+      maxDepth = Math.max(maxDepth, level + 1);
+    }
+  }
+}
@@ -0,0 +1,144 @@
+package xyz.tozymc.configuration.memory;
+
+import java.util.AbstractSet;
+import java.util.ArrayDeque;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Set;
+import java.util.TreeSet;
+
+/**
+ * Lazy key sets answering the prefix and range queries of {@link MemoryStorage}.
+ *
+ * <p>The sets are live views, every iteration walks only the part of the tree or of the sorted
+ * path index that matches the query.
+ */
+final class KeyQueries {
+  private KeyQueries() {}
+
+  /**
+   * Gets the view of the paths with the first {@code cut} characters removed.
+   */
+  static Set<String> relative(Set<String> paths, int cut) {
+    if (cut == 0) {
+      return paths;
+    }
+    return new AbstractSet<>() {
+      @Override
+      public Iterator<String> iterator() {
+        var it = paths.iterator();
+        return new Iterator<>() {
+          @Override
+          public boolean hasNext() {
+            return it.hasNext();
+          }
+
+          @Override
+          public String next() {
+            return it.next().substring(cut);
+          }
+        };
+      }
+
+      @Override
+      public int size() {
+        return paths.size();
+      }
+    };
+  }
+
+  /**
+   * Gets the view of the keys of the table starting with {@code partial} and all keys below them,
+   * every key is prefixed with {@code head}.
+   */
+  static Set<String> withPrefix(ValueTable table, String head, String partial, char separator) {
+    return new AbstractSet<>() {
+      @Override
+      public Iterator<String> iterator() {
+        return new PrefixIterator(table, head, partial, separator);
+      }
+
+      @Override
+      public int size() {
+        var size = 0;
+        for (var it = iterator(); it.hasNext(); it.next()) {
+          size++;
+        }
+        return size;
+      }
+    };
+  }
+
+  /**
+   * Sorts the keys to answer a range query without the sorted path index.
+   */
+  static Set<String> sortedRange(Set<String> keys, String from, String to) {
+    return Collections.unmodifiableSortedSet(new TreeSet<>(keys).subSet(from, to));
+  }
+
+  private static final class Frame {
+    private final ValueTable table;
+    private final String prefix;
+    private int index;
+
+    private Frame(ValueTable table, String prefix) {
+      this.table = table;
+      this.prefix = prefix;
+    }
+  }
+
+  private static final class PrefixIterator implements Iterator<String> {
+    private final Deque<Frame> stack = new ArrayDeque<>();
+    private final Frame top;
+    private final String partial;
+    private final char separator;
+    private String next;
+
+    private PrefixIterator(ValueTable table, String head, String partial, char separator) {
+      this.top = new Frame(table, head);
+      this.partial = partial;
+      this.separator = separator;
+      stack.push(top);
+      advance();
+    }
+
+    private void advance() {
+      next = null;
+      while (!stack.isEmpty()) {
+        var frame = stack.peek();
+        if (frame.index >= frame.table.size()) {
+          stack.pop();
+          continue;
+        }
+        var i = frame.index++;
+        var key = frame.table.keyAt(i);
+        if (frame == top && !key.startsWith(partial)) {
+          continue;
+        }
+        next = frame.prefix + key;
+        var val = frame.table.objectAt(i);
+        if (val instanceof MemoryConfigSection) {
+          stack.push(new Frame(((MemoryConfigSection) val).storage.values(), next + separator));
+        }
+        return;
+      }
+    }
+
+    @Override
+    public boolean hasNext() {
+      return next != null;
+    }
+
+    @Override
+    public String next() {
+      if (next == null) {
+        throw new NoSuchElementException();
+      }
+      var curr = next;
+      advance();
+      return curr;
+    }
+  }
+}
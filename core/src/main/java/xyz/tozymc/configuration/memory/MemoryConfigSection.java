@@ -1,14 +1,28 @@
 package xyz.tozymc.configuration.memory;
 
+import java.nio.DoubleBuffer;
+import java.nio.IntBuffer;
+import java.nio.LongBuffer;
+import java.util.Collections;
+import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.concurrent.locks.StampedLock;
+import java.util.function.Supplier;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
+import org.jetbrains.annotations.Unmodifiable;
 import org.jetbrains.annotations.UnmodifiableView;
+import xyz.tozymc.configuration.ConfigPath;
+import xyz.tozymc.configuration.ConfigQuery;
+import xyz.tozymc.configuration.ConfigVisitor;
+import xyz.tozymc.configuration.MergeStrategy;
 import xyz.tozymc.configuration.TcConfig;
 import xyz.tozymc.configuration.TcConfigSection;
 import xyz.tozymc.configuration.exception.TcConfigException;
-import xyz.tozymc.configuration.serialization.TcConfigSerializations;
+import xyz.tozymc.configuration.option.ConcurrencyMode;
 import xyz.tozymc.configuration.util.SectionPaths;
 import xyz.tozymc.configuration.util.Validators;
 
@@ -24,6 +38,8 @@ public abstract class MemoryConfigSection implements TcConfigSection {
   private final TcConfigSection parent;
   private final String name;
   private final String fullPath;
+  private final ReentrantReadWriteLock readWriteLock;
+  private final StampedLock stampedLock;
 
   /**
    * Constructs new root {@link TcConfigSection}.
@@ -36,6 +52,9 @@ public abstract class MemoryConfigSection implements TcConfigSection {
     this.parent = null;
     this.name = "";
     this.fullPath = "";
+    this.readWriteLock = new ReentrantReadWriteLock();
+    this.stampedLock = new StampedLock();
+    this.storage.share(null);
   }
 
   /**
@@ -49,6 +68,8 @@ public abstract class MemoryConfigSection implements TcConfigSection {
     this.parent = parent;
     this.name = name;
     this.fullPath = SectionPaths.createPath(parent, name);
+    this.readWriteLock = null;
+    this.stampedLock = null;
   }
 
   /**
@@ -57,15 +78,119 @@ public abstract class MemoryConfigSection implements TcConfigSection {
   protected abstract MemoryConfigSection newSection(TcConfigSection parent, String name);
 
   protected void reloadSection(Map<String, ?> map) {
-    storage.reload(map);
+    write(() -> {
+      storage.reload(map);
+      return null;
+    });
+  }
+
+  private <R> R write(Supplier<R> mutation) {
+    switch (root.getOptions().concurrencyMode()) {
+      case NONE:
+        return mutation.get();
+      case READ_WRITE_LOCK: {
+        var lock = ((MemoryConfigSection) root).readWriteLock.writeLock();
+        lock.lock();
+        try {
+          return mutation.get();
+        } finally {
+          lock.unlock();
+        }
+      }
+      case OPTIMISTIC: {
+        var lock = ((MemoryConfigSection) root).stampedLock;
+        var stamp = lock.writeLock();
+        try {
+          return mutation.get();
+        } finally {
+          lock.unlockWrite(stamp);
+        }
+      }
+      default:
+        synchronized (root) {
+          return mutation.get();
+        }
+    }
+  }
+
+  private <R> R read(Supplier<R> reader) {
+    return read(reader, true);
+  }
+
+  private <R> R read(Supplier<R> reader, boolean optimistic) {
+    switch (root.getOptions().concurrencyMode()) {
+      case READ_WRITE_LOCK: {
+        var lock = ((MemoryConfigSection) root).readWriteLock.readLock();
+        lock.lock();
+        try {
+          return reader.get();
+        } finally {
+          lock.unlock();
+        }
+      }
+      case OPTIMISTIC: {
+        var lock = ((MemoryConfigSection) root).stampedLock;
+        if (storage.pathIndexMissing()) {
+          // writers don't take the monitor the index is built under, the read lock keeps them out
+          var stamp = lock.readLock();
+          try {
+            storage.buildPathIndex();
+          } finally {
+            lock.unlockRead(stamp);
+          }
+        }
+        var stamp = optimistic ? lock.tryOptimisticRead() : 0L;
+        if (stamp != 0) {
+          try {
+            var result = reader.get();
+            if (lock.validate(stamp)) {
+              return result;
+            }
+          } catch (RuntimeException e) {
+            if (lock.validate(stamp)) {
+              throw e;
+            }
+          }
+        }
+        stamp = lock.readLock();
+        try {
+          return reader.get();
+        } finally {
+          lock.unlockRead(stamp);
+        }
+      }
+      default:
+        return reader.get();
+    }
+  }
+
+  /**
+   * Takes a deeply immutable copy of this section, the copy is the root of its own tree.
+   *
+   * <p>The copy is taken while holding the root lock unless the concurrency mode is {@link
+   * ConcurrencyMode#NONE}, so it never contains a half-applied change.
+   *
+   * @return The frozen copy of this section.
+   * @see TcConfig#snapshot()
+   */
+  public @NotNull TcConfig snapshot() {
+    return write(() -> new SnapshotConfig(root.getOptions(), storage.values()));
   }
 
   @Override
   public <T> @Nullable T get(@NotNull String path, @NotNull Class<T> type) {
-    var val = get(path);
+    return cast(get(path), type);
+  }
+
+  @Override
+  public <T> @Nullable T get(@NotNull ConfigPath path, @NotNull Class<T> type) {
+    return cast(get(path), type);
+  }
+
+  private <T> T cast(Object val, Class<T> type) {
     if (val instanceof MemoryConfigSection) {
-      return TcConfigSerializations.deserializeObject(type,
-          ((MemoryConfigSection) val).storage.cachedValues());
+      var child = ((MemoryConfigSection) val).storage;
+      return read(() -> child.deserialize(type));
     }
     return type.isInstance(val) ? type.cast(val) : null;
   }
@@ -77,6 +202,14 @@ public abstract class MemoryConfigSection implements TcConfigSection {
     return val != null ? val : def;
   }
 
+  /**
+   * Gets the object with given path.
+   *
+   * <p>A list value is returned as a read-only live view of the stored list, it isn't copied.
+   *
+   * @param path Path to object.
+   * @return The requested object.
+   */
   @Override
   public @Nullable Object get(@NotNull String path) {
     Validators.notNullArgs(path, "Path cannot be null");
@@ -85,32 +218,247 @@ public abstract class MemoryConfigSection implements TcConfigSection {
 
   @Override
   public @Nullable Object getOrDefault(@NotNull String path, @Nullable Object def) {
+    var val = findRaw(path);
+    return val != null ? PrimitiveArrays.readOnly(val) : def;
+  }
+
+  private Object findRaw(String path) {
     Validators.notNullArgs(path, "Path cannot be null");
+    return read(() -> storage.find(path));
+  }
 
-    var val = storage.get(path);
-    return val != null ? val : def;
+  @Override
+  public @Nullable Object get(@NotNull ConfigPath path) {
+    Validators.notNullArgs(path, "Path cannot be null");
+    return getOrDefault(path, null);
+  }
+
+  @Override
+  public @Nullable Object getOrDefault(@NotNull ConfigPath path, @Nullable Object def) {
+    Validators.notNullArgs(path, "Path cannot be null");
+
+    var val = read(() -> storage.get(path));
+    return val != null ? PrimitiveArrays.readOnly(val) : def;
+  }
+
+  @Override
+  public int getInt(@NotNull String path) {
+    Validators.notNullArgs(path, "Path cannot be null");
+    return read(() -> storage.getInt(path));
+  }
+
+  @Override
+  public int getInt(@NotNull ConfigPath path) {
+    Validators.notNullArgs(path, "Path cannot be null");
+    return read(() -> storage.getInt(path));
+  }
+
+  @Override
+  public long getLong(@NotNull String path) {
+    Validators.notNullArgs(path, "Path cannot be null");
+    return read(() -> storage.getLong(path));
+  }
+
+  @Override
+  public long getLong(@NotNull ConfigPath path) {
+    Validators.notNullArgs(path, "Path cannot be null");
+    return read(() -> storage.getLong(path));
+  }
+
+  @Override
+  public double getDouble(@NotNull String path) {
+    Validators.notNullArgs(path, "Path cannot be null");
+    return read(() -> storage.getDouble(path));
+  }
+
+  @Override
+  public double getDouble(@NotNull ConfigPath path) {
+    Validators.notNullArgs(path, "Path cannot be null");
+    return read(() -> storage.getDouble(path));
+  }
+
+  @Override
+  public boolean getBoolean(@NotNull String path) {
+    Validators.notNullArgs(path, "Path cannot be null");
+    return read(() -> storage.getBoolean(path));
+  }
+
+  @Override
+  public boolean getBoolean(@NotNull ConfigPath path) {
+    Validators.notNullArgs(path, "Path cannot be null");
+    return read(() -> storage.getBoolean(path));
   }
 
   @Override
   public @Nullable Object set(@NotNull String path, @Nullable Object value) {
     Validators.notNullArgs(path, "Path cannot be null");
-    return storage.set(path, false, value);
+    return write(() -> storage.set(path, false, value));
+  }
+
+  @Override
+  public @Nullable Object set(@NotNull ConfigPath path, @Nullable Object value) {
+    Validators.notNullArgs(path, "Path cannot be null");
+    return write(() -> storage.set(path, false, value));
   }
 
   @Override
   public @Nullable Object setIfAbsent(@NotNull String path, @Nullable Object value) {
     Validators.notNullArgs(path, "Path cannot be null");
-    return storage.set(path, true, value);
+    return write(() -> storage.set(path, true, value));
+  }
+
+  @Override
+  public void putAll(@NotNull Map<String, ?> values) {
+    Validators.notNullArgs(values, "Values cannot be null");
+    write(() -> {
+      storage.merge(values, null);
+      return null;
+    });
+  }
+
+  @Override
+  public void mergeTree(@NotNull Map<String, ?> values, @NotNull MergeStrategy strategy) {
+    Validators.notNullArgs(values, "Values cannot be null");
+    Validators.notNullArgs(strategy, "Merge strategy cannot be null");
+    write(() -> {
+      storage.merge(values, strategy);
+      return null;
+    });
+  }
+
+  /**
+   * {@inheritDoc}
+   *
+   * <p>The visitor is called while holding the read lock of the concurrency mode, it must not
+   * change this configuration.
+   */
+  @Override
+  public void walk(@NotNull ConfigVisitor visitor) {
+    Validators.notNullArgs(visitor, "Visitor cannot be null");
+    read(() -> {
+      storage.walk(visitor, new WalkCursor(root.getOptions().pathSeparator()), 0);
+      return null;
+    }, false);
+  }
+
+  /**
+   * Computes the estimated heap footprint of this section tree in one walk.
+   *
+   * @return The memory statistics of this section.
+   * @see ConfigMemoryStats
+   */
+  public @NotNull ConfigMemoryStats memoryStats() {
+    return read(() -> ConfigMemoryStats.compute(this), false);
+  }
+
+  @Override
+  public @UnmodifiableView @NotNull Set<String> keysWithPrefix(@NotNull String prefix) {
+    Validators.notNullArgs(prefix, "Prefix cannot be null");
+    return read(() -> storage.keysWithPrefix(prefix));
+  }
+
+  @Override
+  public @UnmodifiableView @NotNull Set<String> keysInRange(@NotNull String from,
+      @NotNull String to) {
+    Validators.notNullArgs(from, "From key cannot be null");
+    Validators.notNullArgs(to, "To key cannot be null");
+    return read(() -> storage.keysInRange(from, to));
+  }
+
+  @Override
+  public @Unmodifiable @NotNull Map<String, ?> select(@NotNull ConfigQuery query) {
+    Validators.notNullArgs(query, "Query cannot be null");
+    return read(() -> storage.select(query), false);
   }
 
   @Override
   public @UnmodifiableView @NotNull Set<String> getKeys(boolean deep) {
-    return storage.getKeys(deep);
+    return read(() -> storage.getKeys(deep));
   }
 
   @Override
   public @NotNull Map<String, ?> getValues() {
-    return storage.getValues();
+    return read(storage::getValues);
+  }
+
+  @Override
+  public @UnmodifiableView @NotNull List<?> getList(@NotNull String path) {
+    var val = findRaw(path);
+    return val instanceof List ? (List<?>) PrimitiveArrays.readOnly(val) : Collections.emptyList();
+  }
+
+  /**
+   * Gets the {@code int} array value with given path as a read-only buffer.
+   *
+   * <p>An {@code int[]} set to this section or a loaded list of only {@code Integer} values is
+   * returned without copying, other lists of numbers are converted.
+   *
+   * @param path Path to array.
+   * @return The requested array, empty when the value isn't a list.
+   */
+  @Override
+  public @UnmodifiableView @NotNull IntBuffer getIntArray(@NotNull String path) {
+    var buffer = PrimitiveArrays.intBuffer(findRaw(path));
+    return buffer != null ? buffer : TcConfigSection.super.getIntArray(path);
+  }
+
+  /**
+   * Gets the {@code long} array value with given path as a read-only buffer.
+   *
+   * <p>A {@code long[]} set to this section or a loaded list of only {@code Long} values is
+   * returned without copying, other lists of numbers are converted.
+   *
+   * @param path Path to array.
+   * @return The requested array, empty when the value isn't a list.
+   */
+  @Override
+  public @UnmodifiableView @NotNull LongBuffer getLongArray(@NotNull String path) {
+    var buffer = PrimitiveArrays.longBuffer(findRaw(path));
+    return buffer != null ? buffer : TcConfigSection.super.getLongArray(path);
+  }
+
+  /**
+   * Gets the {@code double} array value with given path as a read-only buffer.
+   *
+   * <p>A {@code double[]} set to this section or a loaded list of only {@code Double} values is
+   * returned without copying, other lists of numbers are converted.
+   *
+   * @param path Path to array.
+   * @return The requested array, empty when the value isn't a list.
+   */
+  @Override
+  public @UnmodifiableView @NotNull DoubleBuffer getDoubleArray(@NotNull String path) {
+    var buffer = PrimitiveArrays.doubleBuffer(findRaw(path));
+    return buffer != null ? buffer : TcConfigSection.super.getDoubleArray(path);
+  }
+
+  @Override
+  public @UnmodifiableView @NotNull Map<String, ?> valuesView() {
+    return storage.view(false);
+  }
+
+  /**
+   * Gets the read-only view of values in the form written to files, primitive arrays are kept as
+   * arrays instead of {@link java.util.List}.
+   *
+   * @return Read-only view of values.
+   * @hidden
+   */
+  protected @NotNull Map<String, ?> getRawValuesView() {
+    return storage.view(true);
+  }
+
+  /**
+   * Gets the lock to hold while reading the values through {@link #getRawValuesView()} on one
+   * thread and changing them on another. Only {@link ConcurrencyMode#READ_WRITE_LOCK} changes the
+   * values in place and has such a lock, the other modes publish new tables.
+   *
+   * @return The read lock of the root config, or {@code null} when no lock is needed.
+   * @hidden
+   */
+  protected @Nullable Lock getValuesReadLock() {
+    return root.getOptions().concurrencyMode() == ConcurrencyMode.READ_WRITE_LOCK
+        ? ((MemoryConfigSection) root).readWriteLock.readLock() : null;
   }
 
   @Override
@@ -122,14 +470,14 @@ public abstract class MemoryConfigSection implements TcConfigSection {
   @Override
   public @NotNull TcConfigSection createChild(@NotNull String path) throws TcConfigException {
     Validators.notNullArgs(path, "Path cannot be null");
-    return storage.createSection(path, false, null);
+    return write(() -> storage.createSection(path, false, null));
   }
 
   @Override
   public @NotNull TcConfigSection createChild(@NotNull String path, Map<String, ?> values)
       throws TcConfigException {
     Validators.notNullArgs(path, "Path cannot be null");
-    return storage.createSection(path, false, values);
+    return write(() -> storage.createSection(path, false, values));
   }
 
   @Override
@@ -2,24 +2,61 @@ package xyz.tozymc.configuration.memory;
 
 import static xyz.tozymc.configuration.memory.PrimitiveArrays.toList;
 
+import java.lang.reflect.Modifier;
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.LinkedHashMap;
 import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import xyz.tozymc.configuration.ConfigPath;
+import xyz.tozymc.configuration.ConfigQuery;
+import xyz.tozymc.configuration.ConfigVisitor;
+import xyz.tozymc.configuration.MergeStrategy;
 import xyz.tozymc.configuration.exception.TcConfigException;
-import xyz.tozymc.configuration.exception.TcConfigSerializationException;
+import xyz.tozymc.configuration.option.ConcurrencyMode;
+import xyz.tozymc.configuration.option.ReloadStrategy;
 import xyz.tozymc.configuration.serialization.TcConfigSerializations;
 import xyz.tozymc.configuration.util.SectionPaths;
 
 class MemoryStorage {
-  final LinkedHashMap<String, Object> values = new LinkedHashMap<>();
+  private static final ClassValue<Boolean> IMMUTABLE_TYPES = new ClassValue<>() {
+    @Override
+    protected Boolean computeValue(Class<?> type) {
+      for (var curr = type; curr != null && curr != Object.class; curr = curr.getSuperclass()) {
+        for (var field : curr.getDeclaredFields()) {
+          var modifiers = field.getModifiers();
+          if (!Modifier.isStatic(modifiers) && !Modifier.isFinal(modifiers)) {
+            return false;
+          }
+        }
+      }
+      return true;
+    }
+  };
+
+  private volatile ValueTable values = new ValueTable();
   private final MemoryConfigSection section;
+  private volatile Map<String, ?> pending;
+  private Map<String, String> pendingKeyPool;
 
-  private Set<String> keySet;
-  private Map<String, ?> cachedValues;
+  private volatile int modCount;
+  private boolean shared;
+  private volatile boolean detached;
+  private volatile Versioned<Set<String>> keySet;
+  private Set<String> deepKeys;
+  private Set<String> deepKeysView;
+  private volatile Versioned<Map<String, ?>> cachedValues;
+  private volatile Versioned<Map<Class<?>, Object>> deserialized;
+  private volatile Versioned<Map<ConfigQuery, Map<String, ?>>> selected;
+  private Map<String, ?> view;
+  private Map<String, ?> rawView;
+  private volatile PathIndex pathIndex;
 
   MemoryStorage(MemoryConfigSection section) {this.section = section;}
 
@@ -34,33 +71,239 @@ class MemoryStorage {
   private static List<?> mappedArrayValue(Object[] values) {
     var list = new ArrayList<>();
     for (var value : values) {
-      try {
-        var serialized = TcConfigSerializations.serializeObject(value);
-        list.add(serialized);
-      } catch (TcConfigSerializationException ignored) {
+      if (value != null && ValueKind.of(value) == ValueKind.SERIALIZABLE) {
+        list.add(TcConfigSerializations.serializeObject(value));
+      } else {
         list.add(value);
       }
     }
     return list;
   }
 
+  /**
+   * Gets the table of this storage, the loaded values are turned into the table first if this
+   * storage was loaded lazily.
+   */
+  ValueTable values() {
+    if (pending != null) {
+      materialize();
+    }
+    return values;
+  }
+
+  /**
+   * Gets the loaded values not yet turned into the table, or {@code null} when this storage isn't
+   * pending.
+   */
+  Map<String, ?> pendingValues() {
+    return pending;
+  }
+
+  /**
+   * Gets the path index when this is the root storage and the index is built.
+   */
+  PathIndex builtPathIndex() {
+    return pathIndex;
+  }
+
+  private void materialize() {
+    synchronized (this) {
+      var map = pending;
+      if (map == null) {
+        return;
+      }
+      var next = new MemoryStorage(section);
+      next.fill(map, pendingKeyPool);
+      values = next.values;
+      if (shared) {
+        shareValues(sharedIndex());
+      }
+      pending = null;
+      pendingKeyPool = null;
+    }
+  }
+
+  /**
+   * Child sections are never loaded lazily with the sorted path index, which must hold every path
+   * to answer key queries.
+   */
+  private boolean lazySections() {
+    var options = section.getRoot().getOptions();
+    return options.lazySections() && !(options.pathIndex() && options.sortedPathIndex());
+  }
+
   private int getPathSepIndex(String path) {
     return path.indexOf(section.getRoot().getOptions().pathSeparator());
   }
 
   void reload(Map<String, ?> map) {
-    clearCache();
-    values.clear();
+    reload(map, new HashMap<>());
+  }
+
+  private void reload(Map<String, ?> map, Map<String, String> keyPool) {
+    if (pending != null) {
+      materialize();
+    }
+    if (shared && section.getRoot().getOptions().reloadStrategy() == ReloadStrategy.DIFF
+        && map.keySet().stream().allMatch(k -> !k.isEmpty() && getPathSepIndex(k) < 0)) {
+      diff(map, keyPool);
+      return;
+    }
+
+    var next = new MemoryStorage(section);
+    next.fill(map, keyPool);
+
+    var root = rootStorage();
+    detachSections(values);
+    if (root != this) {
+      var index = sharedIndex();
+      if (index != null) {
+        unindex(index);
+      }
+      values = next.values;
+      shareValues(index);
+      clearDeepKeys();
+      touch();
+      return;
+    }
+
+    PathIndex nextIndex = null;
+    if (section.getRoot().getOptions().pathIndex()) {
+      nextIndex = new PathIndex(section.getRoot().getOptions().sortedPathIndex());
+      next.index(nextIndex);
+    }
+    pathIndex = null;
+    values = next.values;
+    shareValues(null);
+    pathIndex = nextIndex;
+    clearDeepKeys();
+    touch();
+  }
+
+  /**
+   * Fills this storage with loaded values, equal keys of the loaded tree are replaced by one
+   * instance taken from the key pool. With lazy sections, the child sections keep their loaded
+   * maps until they are first accessed.
+   */
+  @SuppressWarnings("unchecked")
+  private void fill(Map<String, ?> map, Map<String, String> keyPool) {
+    values().ensureCapacity(map.size());
     map.forEach((k, v) -> {
-      if (v instanceof Map) {
-        //noinspection unchecked
-        createSection(k, true, (Map<String, ?>) v);
-      } else {
-        set(k, false, v);
+      var key = keyPool.putIfAbsent(k, k);
+      if (key == null) {
+        key = k;
+      }
+
+      if (getPathSepIndex(key) >= 0) {
+        if (v instanceof Map) {
+          //noinspection unchecked
+          createSection(key, true, (Map<String, ?>) v);
+        } else {
+          set(key, false, v);
+        }
+        return;
+      }
+
+      var loaded = loadedValue(key, v, keyPool);
+      if (loaded != null) {
+        putValue(key, loaded);
       }
     });
   }
 
+  @SuppressWarnings("unchecked")
+  private Object loadedValue(String key, Object value, Map<String, String> keyPool) {
+    if (value instanceof List) {
+      return PrimitiveArrays.compact((List<?>) value);
+    }
+    if (!(value instanceof Map)) {
+      return storedValue(key, value);
+    }
+    var child = section.newSection(section, key);
+    if (lazySections()) {
+      child.storage.pending = (Map<String, ?>) value;
+      child.storage.pendingKeyPool = keyPool;
+    } else {
+      child.storage.fill((Map<String, ?>) value, keyPool);
+    }
+    return child;
+  }
+
+  /**
+   * Applies loaded values by replacing only the values that differ from the current ones, child
+   * sections loaded as maps again are diffed in place and keep their identity.
+   */
+  @SuppressWarnings("unchecked")
+  private void diff(Map<String, ?> map, Map<String, String> keyPool) {
+    var current = values();
+    ValueTable target = null;
+    Map<String, Object> replaced = new LinkedHashMap<>();
+    for (var i = 0; i < current.size(); i++) {
+      var key = current.keyAt(i);
+      if (!map.containsKey(key)) {
+        replaced.put(key, current.valueAt(i));
+      }
+    }
+    if (!replaced.isEmpty()) {
+      target = writableValues();
+      for (var key : replaced.keySet()) {
+        target.remove(key);
+      }
+    }
+
+    for (var entry : map.entrySet()) {
+      var k = entry.getKey();
+      var v = entry.getValue();
+      var old = current.get(k);
+      if (v instanceof Map && old instanceof MemoryConfigSection) {
+        ((MemoryConfigSection) old).storage.reload((Map<String, ?>) v, keyPool);
+        continue;
+      }
+      if (Objects.equals(old, v)) {
+        continue;
+      }
+
+      if (target == null) {
+        target = writableValues();
+      }
+      var key = keyPool.putIfAbsent(k, k);
+      if (key == null) {
+        key = k;
+      }
+      var loaded = loadedValue(key, v, keyPool);
+      if (loaded == null) {
+        if (old == null) {
+          continue;
+        }
+        target.remove(key);
+      } else {
+        target.put(key, loaded);
+      }
+      replaced.put(key, old);
+    }
+
+    if (target == null) {
+      return;
+    }
+    values = target;
+    var index = sharedIndex();
+    for (var entry : replaced.entrySet()) {
+      changed(index, entry.getKey(), entry.getValue(), target.get(entry.getKey()));
+    }
+    touch();
+  }
+
+  Object find(String path) {
+    var index = pathIndexIfEnabled();
+    if (index != null) {
+      var val = index.get(section.getFullPath().isEmpty() ? path : fullPathOf(path));
+      if (val != null) {
+        return val;
+      }
+    }
+    return get(path);
+  }
+
   Object get(String path) {
     if (path.isEmpty()) {
       return null;
@@ -68,17 +311,131 @@ class MemoryStorage {
 
     var pathSepInd = getPathSepIndex(path);
     if (pathSepInd < 0) {
-      return values.get(path);
+      return values().get(path);
     }
 
     var firstNode = getFirstPathNode(path, pathSepInd);
-    var val = values.get(firstNode);
+    var val = values().get(firstNode);
     if (val instanceof MemoryConfigSection) {
       return ((MemoryConfigSection) val).storage.get(trimFirstPathNode(path, pathSepInd));
     }
     throw new TcConfigException(SectionPaths.createPath(section, firstNode) + " is not a section");
   }
 
+  Object get(ConfigPath path) {
+    var last = path.size() - 1;
+    if (last < 0) {
+      return null;
+    }
+
+    var storage = this;
+    for (var i = 0; i < last; i++) {
+      var node = path.segment(i);
+      var val = storage.values().get(node);
+      if (!(val instanceof MemoryConfigSection)) {
+        throw new TcConfigException(
+            SectionPaths.createPath(storage.section, node) + " is not a section");
+      }
+      storage = ((MemoryConfigSection) val).storage;
+    }
+    return storage.values().get(path.segment(last));
+  }
+
+  /**
+   * Finds the table holding the last segment of the path, without creating substrings.
+   */
+  private ValueTable leafTable(String path) {
+    var separator = section.getRoot().getOptions().pathSeparator();
+    var storage = this;
+    var table = values();
+    var from = 0;
+    for (int sepInd; (sepInd = path.indexOf(separator, from)) >= 0; from = sepInd + 1) {
+      var ind = table.indexOf(path, from, sepInd);
+      var val = ind < 0 ? null : table.objectAt(ind);
+      if (!(val instanceof MemoryConfigSection)) {
+        throw new TcConfigException(
+            SectionPaths.createPath(storage.section, path.substring(from, sepInd))
+                + " is not a section");
+      }
+      storage = ((MemoryConfigSection) val).storage;
+      table = storage.values();
+    }
+    return table;
+  }
+
+  private int leafIndex(ValueTable table, String path) {
+    if (path.isEmpty()) {
+      return -1;
+    }
+    var from = path.lastIndexOf(section.getRoot().getOptions().pathSeparator()) + 1;
+    return table.indexOf(path, from, path.length());
+  }
+
+  private ValueTable leafTable(ConfigPath path) {
+    var storage = this;
+    var table = values();
+    for (int i = 0, last = path.size() - 1; i < last; i++) {
+      var node = path.segment(i);
+      var ind = table.indexOf(node);
+      var val = ind < 0 ? null : table.objectAt(ind);
+      if (!(val instanceof MemoryConfigSection)) {
+        throw new TcConfigException(
+            SectionPaths.createPath(storage.section, node) + " is not a section");
+      }
+      storage = ((MemoryConfigSection) val).storage;
+      table = storage.values();
+    }
+    return table;
+  }
+
+  int getInt(String path) {
+    var table = leafTable(path);
+    var ind = leafIndex(table, path);
+    return ind < 0 ? 0 : table.intAt(ind);
+  }
+
+  int getInt(ConfigPath path) {
+    var table = leafTable(path);
+    var ind = path.size() == 0 ? -1 : table.indexOf(path.lastSegment());
+    return ind < 0 ? 0 : table.intAt(ind);
+  }
+
+  long getLong(String path) {
+    var table = leafTable(path);
+    var ind = leafIndex(table, path);
+    return ind < 0 ? 0L : table.longAt(ind);
+  }
+
+  long getLong(ConfigPath path) {
+    var table = leafTable(path);
+    var ind = path.size() == 0 ? -1 : table.indexOf(path.lastSegment());
+    return ind < 0 ? 0L : table.longAt(ind);
+  }
+
+  double getDouble(String path) {
+    var table = leafTable(path);
+    var ind = leafIndex(table, path);
+    return ind < 0 ? 0D : table.doubleAt(ind);
+  }
+
+  double getDouble(ConfigPath path) {
+    var table = leafTable(path);
+    var ind = path.size() == 0 ? -1 : table.indexOf(path.lastSegment());
+    return ind < 0 ? 0D : table.doubleAt(ind);
+  }
+
+  boolean getBoolean(String path) {
+    var table = leafTable(path);
+    var ind = leafIndex(table, path);
+    return ind >= 0 && table.booleanAt(ind);
+  }
+
+  boolean getBoolean(ConfigPath path) {
+    var table = leafTable(path);
+    var ind = path.size() == 0 ? -1 : table.indexOf(path.lastSegment());
+    return ind >= 0 && table.booleanAt(ind);
+  }
+
   Object set(String path, boolean absent, Object newVal) {
     if (path.isEmpty()) {
       return null;
@@ -86,16 +443,11 @@ class MemoryStorage {
 
     var pathSepInd = getPathSepIndex(path);
     if (pathSepInd < 0) {
-      if (absent) {
-        if (values.containsKey(path)) {
-          return null;
-        }
-      }
-      return setShallow(path, newVal);
+      return setLeaf(path, absent, newVal);
     }
 
     var firstNode = getFirstPathNode(path, pathSepInd);
-    var val = values.get(firstNode);
+    var val = values().get(firstNode);
     if (val == null) {
       val = createShallowSection(firstNode);
     }
@@ -107,65 +459,336 @@ class MemoryStorage {
     throw new TcConfigException(SectionPaths.createPath(section, firstNode) + " is not a section");
   }
 
-  private Object setShallow(String path, Object value) {
-    var old = values.get(path);
-    if (value instanceof Map) {
-      //noinspection unchecked
-      createSection(path, true, (Map<String, ?>) value);
-      return old;
-    }
-    try {
-      createSection(path, true, TcConfigSerializations.serializeObject(value));
-      return old;
-    } catch (TcConfigSerializationException ignored) {
+  Object set(ConfigPath path, boolean absent, Object newVal) {
+    var last = path.size() - 1;
+    if (last < 0) {
+      return null;
     }
-    if (value.getClass().isArray()) {
-      return setArrayValue(path, value);
+
+    var storage = this;
+    for (var i = 0; i < last; i++) {
+      var node = path.segment(i);
+      var val = storage.values().get(node);
+      if (val == null) {
+        val = storage.createShallowSection(node);
+      }
+      if (!(val instanceof MemoryConfigSection)) {
+        throw new TcConfigException(
+            SectionPaths.createPath(storage.section, node) + " is not a section");
+      }
+      storage = ((MemoryConfigSection) val).storage;
     }
-    return setValue(path, value);
+    return storage.setLeaf(path.segment(last), absent, newVal);
   }
 
-  private Object setValue(String key, Object value) {
-    if (value == null) {
-      return values.remove(key);
+  private Object setLeaf(String key, boolean absent, Object newVal) {
+    if (absent && values().containsKey(key)) {
+      return null;
     }
-    return values.put(key, value);
+    return setShallow(key, newVal);
   }
 
-  private Object setArrayValue(String key, Object value) {
+  private Object setShallow(String path, Object value) {
+    var stored = storedValue(path, value);
+    return stored == null ? removeValue(path) : putValue(path, stored);
+  }
+
+  /**
+   * Converts the value to the form kept under the key, maps and serializable objects become new
+   * child sections.
+   */
+  private Object storedValue(String key, Object value) {
     if (value == null) {
-      return values.remove(key);
+      return null;
     }
+    switch (ValueKind.of(value)) {
+      case MAP:
+        //noinspection unchecked
+        return newChild(key, (Map<String, ?>) value);
+      case SERIALIZABLE:
+        return newChild(key, TcConfigSerializations.serializeObject(value));
+      case ARRAY:
+        return arrayValue(value);
+      default:
+        return value;
+    }
+  }
+
+  private static Object arrayValue(Object value) {
     if (value instanceof byte[]) {
-      return values.put(key, toList((byte[]) value));
+      return toList((byte[]) value);
     }
     if (value instanceof short[]) {
-      return values.put(key, toList((short[]) value));
+      return toList((short[]) value);
     }
     if (value instanceof int[]) {
-      return values.put(key, toList((int[]) value));
+      return toList((int[]) value);
     }
     if (value instanceof long[]) {
-      return values.put(key, toList((long[]) value));
+      return toList((long[]) value);
     }
     if (value instanceof float[]) {
-      return values.put(key, toList((float[]) value));
+      return toList((float[]) value);
     }
     if (value instanceof double[]) {
-      return values.put(key, toList((double[]) value));
+      return toList((double[]) value);
     }
     if (value instanceof char[]) {
-      return values.put(key, toList((char[]) value));
+      return toList((char[]) value);
     }
     if (value instanceof boolean[]) {
-      return values.put(key, toList((boolean[]) value));
+      return toList((boolean[]) value);
+    }
+    return mappedArrayValue((Object[]) value);
+  }
+
+  private MemoryConfigSection newChild(String key, Map<String, ?> initials) {
+    var child = section.newSection(section, key);
+    if (initials != null) {
+      child.storage.values().ensureCapacity(initials.size());
+      initials.forEach((k, v) -> child.storage.set(k, false, v));
+    }
+    return child;
+  }
+
+  /**
+   * Applies the tree of values to this storage, a {@code null} strategy sets every entry like
+   * {@link #set(String, boolean, Object)} does.
+   *
+   * <p>The table of each changed section is copied at most once and published after all its keys
+   * are applied, the index, the deep keys and the modification count are updated once per
+   * section. Paths sharing their first node are grouped and merged into the child section by one
+   * call.
+   */
+  void merge(Map<String, ?> map, MergeStrategy strategy) {
+    if (map.isEmpty()) {
+      return;
+    }
+
+    var separator = section.getRoot().getOptions().pathSeparator();
+    var target = shared ? writableValues() : values();
+    var direct = 0;
+    for (var k : map.keySet()) {
+      direct += k.indexOf(separator) < 0 ? 1 : 0;
+    }
+    target.ensureCapacity(target.size() + direct);
+    Map<String, Object> replaced = new LinkedHashMap<>();
+    Map<String, Map<String, Object>> groups = new LinkedHashMap<>();
+    var applied = false;
+    try {
+      map.forEach((k, v) -> {
+        if (k.isEmpty()) {
+          return;
+        }
+
+        var sepInd = k.indexOf(separator);
+        if (sepInd >= 0) {
+          var node = getFirstPathNode(k, sepInd);
+          var group = groups.get(node);
+          if (group == null) {
+            var val = target.get(node);
+            if (val == null) {
+              val = section.newSection(section, node);
+              if (!replaced.containsKey(node)) {
+                replaced.put(node, null);
+              }
+              target.put(node, val);
+            }
+            if (!(val instanceof MemoryConfigSection)) {
+              throw new TcConfigException(
+                  SectionPaths.createPath(section, node) + " is not a section");
+            }
+            group = new LinkedHashMap<>();
+            groups.put(node, group);
+          }
+          group.put(trimFirstPathNode(k, sepInd), v);
+          return;
+        }
+
+        var group = groups.remove(k);
+        if (group != null) {
+          // the entries of the child path come first in the map, so they are applied first
+          ((MemoryConfigSection) target.get(k)).storage.merge(group, strategy);
+        }
+        var old = target.get(k);
+        if (strategy != null && v != null && old instanceof MemoryConfigSection) {
+          var kind = ValueKind.of(v);
+          if (kind == ValueKind.MAP || kind == ValueKind.SERIALIZABLE) {
+            //noinspection unchecked
+            var tree = kind == ValueKind.MAP ? (Map<String, ?>) v
+                : TcConfigSerializations.serializeObject(v);
+            ((MemoryConfigSection) old).storage.merge(tree, strategy);
+            return;
+          }
+        }
+        if (strategy == MergeStrategy.KEEP_EXISTING && old != null) {
+          return;
+        }
+
+        var stored = storedValue(k, v);
+        if (stored == null && old == null) {
+          return;
+        }
+        if (!replaced.containsKey(k)) {
+          replaced.put(k, old);
+        }
+        if (stored == null) {
+          target.remove(k);
+        } else {
+          target.put(k, stored);
+        }
+      });
+      groups.forEach(
+          (node, group) -> ((MemoryConfigSection) target.get(node)).storage.merge(group, strategy));
+      applied = true;
+    } finally {
+      // a failed merge into the live table keeps the entries applied before the failure
+      if (applied || target == values) {
+        publish(target, replaced);
+      }
+    }
+  }
+
+  private void publish(ValueTable target, Map<String, Object> replaced) {
+    if (!shared || replaced.isEmpty()) {
+      return;
+    }
+    values = target;
+    var index = sharedIndex();
+    replaced.forEach((k, old) -> {
+      var value = target.get(k);
+      if (value != old) {
+        changed(index, k, old, value);
+      }
+    });
+    touch();
+  }
+
+  private Object putValue(String key, Object value) {
+    if (!shared) {
+      return values().put(key, value);
+    }
+
+    var target = writableValues();
+    var old = target.put(key, value);
+    values = target;
+    changed(sharedIndex(), key, old, value);
+    touch();
+    return old;
+  }
+
+  private Object removeValue(String key) {
+    if (!shared) {
+      return values().remove(key);
+    }
+    if (!values().containsKey(key)) {
+      return null;
+    }
+
+    var target = writableValues();
+    var old = target.remove(key);
+    values = target;
+    changed(sharedIndex(), key, old, null);
+    touch();
+    return old;
+  }
+
+  /**
+   * Updates the index, the sharing and the deep keys after the published value of the key was
+   * changed.
+   */
+  private void changed(PathIndex index, String key, Object old, Object value) {
+    if (index != null) {
+      var fullPath = fullPathOf(key);
+      if (old != null) {
+        index.remove(fullPath, old);
+      }
+      if (value != null) {
+        index.put(fullPath, value);
+      }
+    }
+    if (value instanceof MemoryConfigSection) {
+      ((MemoryConfigSection) value).storage.share(index);
+    }
+    if (old instanceof MemoryConfigSection && old != value) {
+      ((MemoryConfigSection) old).storage.detached = true;
+    }
+    updateDeepKeys(key, old, value);
+  }
+
+  private static void detachSections(ValueTable table) {
+    for (var i = 0; i < table.size(); i++) {
+      var val = table.objectAt(i);
+      if (val instanceof MemoryConfigSection) {
+        ((MemoryConfigSection) val).storage.detached = true;
+      }
+    }
+  }
+
+  /**
+   * Checks if this storage is still reachable from the root. A section removed from the tree
+   * keeps its parent, but its changes must not reach the path index or the ancestors anymore.
+   */
+  private boolean attached() {
+    for (var curr = section; ; ) {
+      if (curr.storage.detached) {
+        return false;
+      }
+      var parent = curr.getParent();
+      if (!(parent instanceof MemoryConfigSection)) {
+        return true;
+      }
+      curr = (MemoryConfigSection) parent;
+    }
+  }
+
+  private PathIndex sharedIndex() {
+    return attached() ? rootStorage().pathIndex : null;
+  }
+
+  private ValueTable writableValues() {
+    var current = values();
+    return copyOnWrite() ? current.copy() : current;
+  }
+
+  private boolean copyOnWrite() {
+    var mode = section.getRoot().getOptions().concurrencyMode();
+    return mode == ConcurrencyMode.COPY_ON_WRITE || mode == ConcurrencyMode.OPTIMISTIC;
+  }
+
+  void share(PathIndex index) {
+    if (shared) {
+      return;
+    }
+    shared = true;
+    shareValues(index);
+  }
+
+  private void shareValues(PathIndex index) {
+    values.forEach((k, v) -> {
+      if (index != null) {
+        index.put(fullPathOf(k), v);
+      }
+      if (v instanceof MemoryConfigSection) {
+        ((MemoryConfigSection) v).storage.share(index);
+      }
+    });
+  }
+
+  private void touch() {
+    for (MemoryConfigSection curr = section; curr != null; ) {
+      curr.storage.modCount++;
+      if (curr.storage.detached) {
+        return;
+      }
+      var parent = curr.getParent();
+      curr = parent instanceof MemoryConfigSection ? (MemoryConfigSection) parent : null;
     }
-    return values.put(key, mappedArrayValue((Object[]) value));
   }
 
   MemoryConfigSection createShallowSection(String path) {
     var child = section.newSection(section, path);
-    values.put(path, child);
+    putValue(path, child);
     return child;
   }
 
@@ -177,78 +800,356 @@ class MemoryStorage {
 
     var pathSepInd = getPathSepIndex(path);
     if (pathSepInd < 0) {
-      var val = values.get(path);
+      var val = values().get(path);
       if (force && val != null) {
         throw new TcConfigException(SectionPaths.createPath(section, path) + " is exited");
       }
 
-      var child = createShallowSection(path);
-      if (initials != null) {
-        initials.forEach((k, v) -> child.storage.set(k, false, v));
-      }
+      var child = newChild(path, initials);
+      putValue(path, child);
       return child;
     }
 
     var firstNode = getFirstPathNode(path, pathSepInd);
-    var val = values.get(firstNode);
-    if (force && val != null) {
-      throw new TcConfigException(SectionPaths.createPath(section, path) + " is exited");
+    var val = values().get(firstNode);
+    if (val == null) {
+      val = createShallowSection(firstNode);
+    }
+    if (val instanceof MemoryConfigSection) {
+      return ((MemoryConfigSection) val).storage.createSection(
+          trimFirstPathNode(path, pathSepInd), force, initials);
+    }
+    throw new TcConfigException(SectionPaths.createPath(section, firstNode) + " is not a section");
+  }
+
+  private MemoryStorage rootStorage() {
+    return ((MemoryConfigSection) section.getRoot()).storage;
+  }
+
+  private String fullPathOf(String path) {
+    return SectionPaths.createPath(section, path);
+  }
+
+  private PathIndex pathIndexIfEnabled() {
+    var root = rootStorage();
+    var options = section.getRoot().getOptions();
+    if (!options.pathIndex()) {
+      root.pathIndex = null;
+      return null;
+    }
+    if (!attached()) {
+      return null;
+    }
+    var index = root.pathIndex;
+    if (index == null || index.sorted() != options.sortedPathIndex()) {
+      if (options.concurrencyMode() == ConcurrencyMode.OPTIMISTIC) {
+        // an optimistic reader may run beside a writer, see MemoryConfigSection#read
+        return null;
+      }
+      index = buildPathIndex();
+    }
+    return index;
+  }
+
+  /**
+   * Checks if the path index is enabled but isn't built yet, or is built with the other order.
+   */
+  boolean pathIndexMissing() {
+    var options = section.getRoot().getOptions();
+    var index = rootStorage().pathIndex;
+    return options.pathIndex() && (index == null || index.sorted() != options.sortedPathIndex());
+  }
+
+  /**
+   * Builds and publishes the path index of the root. Writers must be kept out while it is built,
+   * a change applied meanwhile isn't added to the index.
+   */
+  PathIndex buildPathIndex() {
+    var root = rootStorage();
+    var sorted = section.getRoot().getOptions().sortedPathIndex();
+    synchronized (section.getRoot()) {
+      var index = root.pathIndex;
+      if (index == null || index.sorted() != sorted) {
+        index = new PathIndex(sorted);
+        root.index(index);
+        root.pathIndex = index;
+      }
+      return index;
     }
-    var child = createShallowSection(path);
-    return child.storage.createSection(trimFirstPathNode(path, pathSepInd), force, initials);
   }
 
-  void clearCache() {
-    keySet = null;
-    cachedValues = null;
+  void index(PathIndex index) {
+    values.forEach((k, v) -> {
+      index.put(fullPathOf(k), v);
+      if (v instanceof MemoryConfigSection) {
+        ((MemoryConfigSection) v).storage.index(index);
+      }
+    });
+  }
+
+  void unindex(PathIndex index) {
+    values.forEach((k, v) -> index.remove(fullPathOf(k), v));
   }
 
   Set<String> getKeys(boolean deep) {
     if (!deep) {
-      return Collections.unmodifiableSet(values.keySet());
+      var keys = values().keySet();
+      if (section.getRoot().getOptions().concurrencyMode() == ConcurrencyMode.READ_WRITE_LOCK) {
+        // values are changed in place, the view would be read outside the lock
+        return Collections.unmodifiableSet(new LinkedHashSet<>(keys));
+      }
+      return Collections.unmodifiableSet(keys);
     }
-    Set<String> ks = keySet;
-    if (ks == null) {
-      Set<String> keys = new LinkedHashSet<>();
-      keySet(keys, section);
-      ks = Collections.unmodifiableSet(keys);
-      keySet = ks;
+    if (incrementalKeys()) {
+      var view = deepKeysView;
+      if (view == null) {
+        if (deepKeys == null) {
+          deepKeys = new LinkedHashSet<>();
+          collectKeys(deepKeys, "");
+        }
+        // callers may change this section while iterating, so they get a copy of the live set
+        deepKeysView = view = Collections.unmodifiableSet(new LinkedHashSet<>(deepKeys));
+      }
+      return view;
+    }
+
+    var mod = modCount;
+    var cached = keySet;
+    if (cached != null && cached.version == mod) {
+      return cached.value;
     }
+    Set<String> keys = new LinkedHashSet<>();
+    collectKeys(keys, "");
+    var ks = Collections.unmodifiableSet(keys);
+    keySet = new Versioned<>(mod, ks);
     return ks;
   }
 
-  private void keySet(Set<String> keys, MemoryConfigSection relativeTo) {
-    values.forEach((k, v) -> {
-      keys.add(SectionPaths.createPath(section, relativeTo, k));
+  private void collectKeys(Collection<String> keys, String prefix) {
+    var separator = section.getRoot().getOptions().pathSeparator();
+    values().forEach((k, v) -> {
+      var key = prefix.isEmpty() ? k : prefix + separator + k;
+      keys.add(key);
       if (v instanceof MemoryConfigSection) {
-        ((MemoryConfigSection) v).storage.keySet(keys, relativeTo);
+        ((MemoryConfigSection) v).storage.collectKeys(keys, key);
       }
     });
   }
 
+  /**
+   * Deep key sets are kept across removals only without concurrency mode, because the sets aren't
+   * safe to read while another thread changes them. The returned set is a copy made once per
+   * change.
+   */
+  private boolean incrementalKeys() {
+    return section.getRoot().getOptions().concurrencyMode() == ConcurrencyMode.NONE;
+  }
+
+  /**
+   * Applies the change of the key to the deep key sets of this storage and its ancestors, only the
+   * sets already requested by {@link #getKeys(boolean)} are kept. Removed keys are removed in
+   * place, a change adding keys drops the sets so they are collected again in tree order.
+   */
+  private void updateDeepKeys(String key, Object old, Object value) {
+    var incremental = incrementalKeys();
+    // added keys belong inside the tree order, the sets are collected again when requested
+    var adds = value != null && (old == null || value instanceof MemoryConfigSection);
+    var separator = section.getRoot().getOptions().pathSeparator();
+    List<String> removed = null;
+    var prefix = "";
+    for (var storage = this; ; ) {
+      if (storage.deepKeys != null) {
+        if (!incremental || adds) {
+          storage.deepKeys = null;
+          storage.deepKeysView = null;
+        } else {
+          if (removed == null) {
+            removed = new ArrayList<>();
+            if (value == null) {
+              removed.add(key);
+            }
+            if (old instanceof MemoryConfigSection) {
+              ((MemoryConfigSection) old).storage.collectKeys(removed, key);
+            }
+          }
+          for (var relative : removed) {
+            storage.deepKeys.remove(prefix.isEmpty() ? relative : prefix + separator + relative);
+          }
+          if (!removed.isEmpty()) {
+            storage.deepKeysView = null;
+          }
+        }
+      }
+
+      var parent = storage.section.getParent();
+      if (!(parent instanceof MemoryConfigSection)) {
+        return;
+      }
+      var name = storage.section.getName();
+      var parentValues = ((MemoryConfigSection) parent).storage.values();
+      var ind = parentValues.indexOf(name);
+      if (ind < 0 || parentValues.objectAt(ind) != storage.section) {
+        return;
+      }
+      prefix = prefix.isEmpty() ? name : name + separator + prefix;
+      storage = ((MemoryConfigSection) parent).storage;
+    }
+  }
+
+  private void clearDeepKeys() {
+    for (MemoryConfigSection curr = section; curr != null; ) {
+      curr.storage.deepKeys = null;
+      curr.storage.deepKeysView = null;
+      var parent = curr.getParent();
+      curr = parent instanceof MemoryConfigSection ? (MemoryConfigSection) parent : null;
+    }
+  }
+
+  Set<String> keysWithPrefix(String prefix) {
+    var index = pathIndexIfEnabled();
+    if (index != null && index.sorted()) {
+      var from = section.getFullPath().isEmpty() ? prefix : fullPathOf(prefix);
+      return KeyQueries.relative(index.paths(from, from + Character.MAX_VALUE),
+          from.length() - prefix.length());
+    }
+
+    var separator = section.getRoot().getOptions().pathSeparator();
+    var storage = this;
+    var from = 0;
+    for (int sepInd; (sepInd = prefix.indexOf(separator, from)) >= 0; from = sepInd + 1) {
+      var val = storage.values().get(prefix.substring(from, sepInd));
+      if (!(val instanceof MemoryConfigSection)) {
+        return Collections.emptySet();
+      }
+      storage = ((MemoryConfigSection) val).storage;
+    }
+    return KeyQueries.withPrefix(storage.values(), prefix.substring(0, from),
+        prefix.substring(from), separator);
+  }
+
+  Set<String> keysInRange(String from, String to) {
+    var index = pathIndexIfEnabled();
+    if (index == null || !index.sorted()) {
+      return KeyQueries.sortedRange(getKeys(true), from, to);
+    }
+    if (section.getFullPath().isEmpty()) {
+      return index.paths(from, to);
+    }
+    var cut = section.getFullPath().length() + 1;
+    var base = fullPathOf("");
+    return KeyQueries.relative(index.paths(base + from, base + to), cut);
+  }
+
+  void walk(ConfigVisitor visitor, WalkCursor cursor, int level) {
+    var table = values();
+    for (var i = 0; i < table.size(); i++) {
+      var key = table.keyAt(i);
+      cursor.moveTo(level, key, table, i);
+      var val = table.objectAt(i);
+      if (!(val instanceof MemoryConfigSection)) {
+        visitor.visit(cursor);
+        continue;
+      }
+      if (visitor.enterSection(cursor)) {
+        ((MemoryConfigSection) val).storage.walk(visitor, cursor, level + 1);
+        cursor.moveTo(level, key, table, i);
+        visitor.exitSection(cursor);
+      }
+    }
+  }
+
+  /**
+   * Selects the values matched by the query in one walk. The result is cached for the query until
+   * the next change of this storage.
+   */
+  Map<String, ?> select(ConfigQuery query) {
+    var mod = modCount;
+    var cached = selected;
+    if (cached == null || cached.version != mod) {
+      cached = new Versioned<>(mod, new ConcurrentHashMap<>());
+      selected = cached;
+    }
+    var result = cached.value.get(query);
+    if (result != null) {
+      return result;
+    }
+
+    Map<String, Object> results = new LinkedHashMap<>();
+    walk(query.collector(results), new WalkCursor(section.getRoot().getOptions().pathSeparator()),
+        0);
+    result = Collections.unmodifiableMap(results);
+    cached.value.put(query, result);
+    return result;
+  }
+
   Map<String, ?> getValues() {
     Map<String, Object> root = new LinkedHashMap<>();
     mapValues(root);
     return root;
   }
 
-  void mapValues(Map<String, Object> mapped) {
-    values.forEach((k, v) -> {
+  private void mapValues(Map<String, Object> mapped) {
+    values().forEach((k, v) -> {
       if (v instanceof MemoryConfigSection) {
         Map<String, Object> child = new LinkedHashMap<>();
         mapped.put(k, child);
         ((MemoryConfigSection) v).storage.mapValues(child);
       } else {
-        mapped.put(k, v);
+        mapped.put(k, PrimitiveArrays.readOnly(v));
       }
     });
   }
 
+  /**
+   * Gets the read-only live view of this storage, the view is created on first use.
+   *
+   * @see ValuesView
+   */
+  Map<String, ?> view(boolean raw) {
+    var current = raw ? rawView : view;
+    if (current == null) {
+      current = new ValuesView(this, raw);
+      if (raw) {
+        rawView = current;
+      } else {
+        view = current;
+      }
+    }
+    return current;
+  }
+
+  /**
+   * Deserializes this storage to the type. The object is cached until the next change of this
+   * storage when all fields of the type are final, otherwise a new object is created from the
+   * cached values on every call.
+   */
+  <T> T deserialize(Class<T> type) {
+    var mod = modCount;
+    var cached = deserialized;
+    if (cached == null || cached.version != mod) {
+      cached = new Versioned<>(mod, new ConcurrentHashMap<>());
+      deserialized = cached;
+    }
+    var obj = cached.value.get(type);
+    if (obj != null) {
+      return type.cast(obj);
+    }
+
+    var val = TcConfigSerializations.deserializeObject(type, cachedValues());
+    if (IMMUTABLE_TYPES.get(type)) {
+      cached.value.put(type, val);
+    }
+    return val;
+  }
+
   Map<String, ?> cachedValues() {
-    if (cachedValues == null) {
-      cachedValues = getValues();
-      return cachedValues;
+    var mod = modCount;
+    var cached = cachedValues;
+    if (cached != null && cached.version == mod) {
+      return cached.value;
     }
-    return cachedValues;
+    var mapped = getValues();
+    cachedValues = new Versioned<>(mod, mapped);
+    return mapped;
   }
 }
@@ -0,0 +1,59 @@
+package xyz.tozymc.configuration.memory;
+
+import java.util.Collections;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+
+final class PathIndex {
+  private final Map<String, Object> entries;
+  private final boolean sorted;
+
+  PathIndex(boolean sorted) {
+    this.entries = sorted ? new ConcurrentSkipListMap<>() : new ConcurrentHashMap<>();
+    this.sorted = sorted;
+  }
+
+  boolean sorted() {
+    return sorted;
+  }
+
+  Object get(String fullPath) {
+    return entries.get(fullPath);
+  }
+
+  void put(String fullPath, Object value) {
+    entries.put(fullPath, value);
+  }
+
+  void remove(String fullPath, Object old) {
+    entries.remove(fullPath);
+    if (old instanceof MemoryConfigSection) {
+      ((MemoryConfigSection) old).storage.unindex(this);
+    }
+  }
+
+  /**
+   * Estimates the heap bytes of the index entries and their full path strings, the indexed values
+   * are counted by their sections.
+   */
+  long estimatedBytes() {
+    var entryBytes =
+        sorted ? ConfigMemoryStats.SKIP_LIST_ENTRY_BYTES : ConfigMemoryStats.HASH_ENTRY_BYTES;
+    var bytes = 0L;
+    for (var path : entries.keySet()) {
+      bytes += entryBytes + ConfigMemoryStats.stringBytes(path);
+    }
+    return bytes;
+  }
+
+  /**
+   * Gets the live view of the full paths from {@code from} inclusive to {@code to} exclusive, only
+   * supported by sorted indexes.
+   */
+  NavigableSet<String> paths(String from, String to) {
+    var paths = ((ConcurrentSkipListMap<String, Object>) entries).subMap(from, to).keySet();
+    return Collections.unmodifiableNavigableSet(paths);
+  }
+}
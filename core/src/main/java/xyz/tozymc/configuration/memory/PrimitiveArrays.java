@@ -1,72 +1,303 @@
 package xyz.tozymc.configuration.memory;
 
-import java.util.ArrayList;
+import java.nio.DoubleBuffer;
+import java.nio.IntBuffer;
+import java.nio.LongBuffer;
+import java.util.AbstractList;
+import java.util.Collections;
 import java.util.List;
+import java.util.RandomAccess;
 
+/**
+ * Read-only {@link List} views over primitive arrays, the elements are boxed only when read.
+ *
+ * <p>Getters hand out the stored views, every list returned by a getter is a read-only view.
+ */
 final class PrimitiveArrays {
   private PrimitiveArrays() {}
 
   static List<Byte> toList(byte[] objects) {
-    var list = new ArrayList<Byte>();
-    for (var o : objects) {
-      list.add(o);
-    }
-    return list;
+    return new ByteList(objects.clone());
   }
 
   static List<Short> toList(short[] objects) {
-    var list = new ArrayList<Short>();
-    for (var o : objects) {
-      list.add(o);
-    }
-    return list;
+    return new ShortList(objects.clone());
   }
 
   static List<Integer> toList(int[] objects) {
-    var list = new ArrayList<Integer>();
-    for (var o : objects) {
-      list.add(o);
-    }
-    return list;
+    return new IntList(objects.clone());
   }
 
   static List<Long> toList(long[] objects) {
-    var list = new ArrayList<Long>();
-    for (var o : objects) {
-      list.add(o);
-    }
-    return list;
+    return new LongList(objects.clone());
   }
 
   static List<Float> toList(float[] objects) {
-    var list = new ArrayList<Float>();
-    for (var o : objects) {
-      list.add(o);
-    }
-    return list;
+    return new FloatList(objects.clone());
   }
 
   static List<Double> toList(double[] objects) {
-    var list = new ArrayList<Double>();
-    for (var o : objects) {
-      list.add(o);
-    }
-    return list;
+    return new DoubleList(objects.clone());
   }
 
   static List<Character> toList(char[] objects) {
-    var list = new ArrayList<Character>();
-    for (var o : objects) {
-      list.add(o);
-    }
-    return list;
+    return new CharList(objects.clone());
   }
 
   static List<Boolean> toList(boolean[] objects) {
-    var list = new ArrayList<Boolean>();
-    for (var o : objects) {
-      list.add(o);
+    return new BooleanList(objects.clone());
+  }
+
+  /**
+   * Compacts a loaded list whose elements are all {@link Integer}, all {@link Long}, all {@link
+   * Double} or all {@link Boolean} into a view over a primitive array, other lists are returned
+   * unchanged.
+   */
+  static List<?> compact(List<?> list) {
+    if (list.isEmpty() || list instanceof PrimitiveList) {
+      return list;
+    }
+    var type = list.get(0) != null ? list.get(0).getClass() : null;
+    if (type != Integer.class && type != Long.class && type != Double.class
+        && type != Boolean.class) {
+      return list;
+    }
+    for (var e : list) {
+      if (e == null || e.getClass() != type) {
+        return list;
+      }
+    }
+
+    var size = list.size();
+    if (type == Integer.class) {
+      var array = new int[size];
+      for (var i = 0; i < size; i++) {
+        array[i] = (Integer) list.get(i);
+      }
+      return new IntList(array);
+    }
+    if (type == Long.class) {
+      var array = new long[size];
+      for (var i = 0; i < size; i++) {
+        array[i] = (Long) list.get(i);
+      }
+      return new LongList(array);
+    }
+    if (type == Double.class) {
+      var array = new double[size];
+      for (var i = 0; i < size; i++) {
+        array[i] = (Double) list.get(i);
+      }
+      return new DoubleList(array);
+    }
+    var array = new boolean[size];
+    for (var i = 0; i < size; i++) {
+      array[i] = (Boolean) list.get(i);
+    }
+    return new BooleanList(array);
+  }
+
+  static IntBuffer intBuffer(Object val) {
+    return val instanceof IntList ? IntBuffer.wrap(((IntList) val).array).asReadOnlyBuffer() : null;
+  }
+
+  static LongBuffer longBuffer(Object val) {
+    return val instanceof LongList ? LongBuffer.wrap(((LongList) val).array).asReadOnlyBuffer()
+        : null;
+  }
+
+  static DoubleBuffer doubleBuffer(Object val) {
+    return val instanceof DoubleList
+        ? DoubleBuffer.wrap(((DoubleList) val).array).asReadOnlyBuffer() : null;
+  }
+
+  /**
+   * Returns the list values as read-only live views, a primitive array view is already read-only
+   * and is returned as is. Other values are returned unchanged.
+   */
+  static Object readOnly(Object val) {
+    if (val instanceof PrimitiveList) {
+      return val;
+    }
+    return val instanceof List ? Collections.unmodifiableList((List<?>) val) : val;
+  }
+
+  /**
+   * Returns the backing array when the value is a primitive array view, otherwise the value.
+   */
+  static Object unwrap(Object val) {
+    return val instanceof PrimitiveList ? ((PrimitiveList<?>) val).array() : val;
+  }
+
+  abstract static class PrimitiveList<E> extends AbstractList<E> implements RandomAccess {
+    abstract Object array();
+  }
+
+  static final class ByteList extends PrimitiveList<Byte> {
+    private final byte[] array;
+
+    private ByteList(byte[] array) {this.array = array;}
+
+    @Override
+    public Byte get(int index) {
+      return array[index];
+    }
+
+    @Override
+    public int size() {
+      return array.length;
+    }
+
+    @Override
+    Object array() {
+      return array;
+    }
+  }
+
+  static final class ShortList extends PrimitiveList<Short> {
+    private final short[] array;
+
+    private ShortList(short[] array) {this.array = array;}
+
+    @Override
+    public Short get(int index) {
+      return array[index];
+    }
+
+    @Override
+    public int size() {
+      return array.length;
+    }
+
+    @Override
+    Object array() {
+      return array;
+    }
+  }
+
+  static final class IntList extends PrimitiveList<Integer> {
+    private final int[] array;
+
+    private IntList(int[] array) {this.array = array;}
+
+    @Override
+    public Integer get(int index) {
+      return array[index];
+    }
+
+    @Override
+    public int size() {
+      return array.length;
+    }
+
+    @Override
+    Object array() {
+      return array;
+    }
+  }
+
+  static final class LongList extends PrimitiveList<Long> {
+    private final long[] array;
+
+    private LongList(long[] array) {this.array = array;}
+
+    @Override
+    public Long get(int index) {
+      return array[index];
+    }
+
+    @Override
+    public int size() {
+      return array.length;
+    }
+
+    @Override
+    Object array() {
+      return array;
+    }
+  }
+
+  static final class FloatList extends PrimitiveList<Float> {
+    private final float[] array;
+
+    private FloatList(float[] array) {this.array = array;}
+
+    @Override
+    public Float get(int index) {
+      return array[index];
+    }
+
+    @Override
+    public int size() {
+      return array.length;
+    }
+
+    @Override
+    Object array() {
+      return array;
+    }
+  }
+
+  static final class DoubleList extends PrimitiveList<Double> {
+    private final double[] array;
+
+    private DoubleList(double[] array) {this.array = array;}
+
+    @Override
+    public Double get(int index) {
+      return array[index];
+    }
+
+    @Override
+    public int size() {
+      return array.length;
+    }
+
+    @Override
+    Object array() {
+      return array;
+    }
+  }
+
+  static final class CharList extends PrimitiveList<Character> {
+    private final char[] array;
+
+    private CharList(char[] array) {this.array = array;}
+
+    @Override
+    public Character get(int index) {
+      return array[index];
+    }
+
+    @Override
+    public int size() {
+      return array.length;
+    }
+
+    @Override
+    Object array() {
+      return array;
+    }
+  }
+
+  static final class BooleanList extends PrimitiveList<Boolean> {
+    private final boolean[] array;
+
+    private BooleanList(boolean[] array) {this.array = array;}
+
+    @Override
+    public Boolean get(int index) {
+      return array[index];
+    }
+
+    @Override
+    public int size() {
+      return array.length;
+    }
+
+    @Override
+    Object array() {
+      return array;
     }
-    return list;
   }
 }
@@ -0,0 +1,94 @@
+package xyz.tozymc.configuration.memory;
+
+import java.util.HashMap;
+import java.util.Map;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import xyz.tozymc.configuration.TcConfig;
+import xyz.tozymc.configuration.option.ConcurrencyMode;
+import xyz.tozymc.configuration.option.ReloadStrategy;
+import xyz.tozymc.configuration.option.TcConfigOptions;
+
+/**
+ * The root of a frozen copy of a {@link MemoryConfigSection}.
+ *
+ * <p>The snapshot holds no reference to the section it was taken from. Every value at any depth is
+ * found by one lookup in the full path table built when the snapshot is taken.
+ *
+ * @author TozyMC
+ * @see MemoryConfigSection#snapshot()
+ * @since 1.0
+ */
+final class SnapshotConfig extends SnapshotSection implements TcConfig {
+  private final SnapshotOptions options;
+  private final Map<String, Object> paths;
+
+  SnapshotConfig(TcConfigOptions source, ValueTable values) {
+    super(null, null, "", source.pathSeparator(), values);
+    this.options = new SnapshotOptions(this, source);
+    var collected = new HashMap<String, Object>();
+    collectPaths(collected);
+    this.paths = Map.copyOf(collected);
+  }
+
+  Object lookup(String fullPath) {
+    return paths.get(fullPath);
+  }
+
+  @Override
+  public @NotNull TcConfigOptions getOptions() {
+    return options;
+  }
+
+  @Override
+  public @Nullable SnapshotSection getParent() {
+    return null;
+  }
+
+  @Override
+  public @NotNull TcConfig snapshot() {
+    return this;
+  }
+
+  private static final class SnapshotOptions extends TcConfigOptions {
+    private SnapshotOptions(TcConfig config, TcConfigOptions source) {
+      super(config);
+      super.pathSeparator(source.pathSeparator());
+      super.pathIndex(source.pathIndex());
+      super.sortedPathIndex(source.sortedPathIndex());
+      super.lazySections(source.lazySections());
+      super.concurrencyMode(source.concurrencyMode());
+      super.reloadStrategy(source.reloadStrategy());
+    }
+
+    @Override
+    public @NotNull TcConfigOptions pathSeparator(char separator) {
+      throw new UnsupportedOperationException("Snapshot options cannot be modified");
+    }
+
+    @Override
+    public @NotNull TcConfigOptions pathIndex(boolean pathIndex) {
+      throw new UnsupportedOperationException("Snapshot options cannot be modified");
+    }
+
+    @Override
+    public @NotNull TcConfigOptions sortedPathIndex(boolean sortedPathIndex) {
+      throw new UnsupportedOperationException("Snapshot options cannot be modified");
+    }
+
+    @Override
+    public @NotNull TcConfigOptions lazySections(boolean lazySections) {
+      throw new UnsupportedOperationException("Snapshot options cannot be modified");
+    }
+
+    @Override
+    public @NotNull TcConfigOptions concurrencyMode(@NotNull ConcurrencyMode concurrencyMode) {
+      throw new UnsupportedOperationException("Snapshot options cannot be modified");
+    }
+
+    @Override
+    public @NotNull TcConfigOptions reloadStrategy(@NotNull ReloadStrategy reloadStrategy) {
+      throw new UnsupportedOperationException("Snapshot options cannot be modified");
+    }
+  }
+}
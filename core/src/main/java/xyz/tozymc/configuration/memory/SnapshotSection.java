@@ -0,0 +1,345 @@
+package xyz.tozymc.configuration.memory;
+
+import java.nio.DoubleBuffer;
+import java.nio.IntBuffer;
+import java.nio.LongBuffer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import org.jetbrains.annotations.UnmodifiableView;
+import xyz.tozymc.configuration.ConfigPath;
+import xyz.tozymc.configuration.ConfigVisitor;
+import xyz.tozymc.configuration.MergeStrategy;
+import xyz.tozymc.configuration.TcConfig;
+import xyz.tozymc.configuration.TcConfigSection;
+import xyz.tozymc.configuration.exception.TcConfigException;
+import xyz.tozymc.configuration.serialization.TcConfigSerializations;
+import xyz.tozymc.configuration.util.SectionPaths;
+import xyz.tozymc.configuration.util.Validators;
+
+/**
+ * The type of {@link TcConfigSection} that is a frozen copy of a {@link MemoryConfigSection}.
+ *
+ * <p>Keys and values are kept in arrays, the full paths and the key sets are computed once when
+ * the snapshot is taken. Every mutation throws {@link UnsupportedOperationException}.
+ *
+ * @author TozyMC
+ * @see MemoryConfigSection#snapshot()
+ * @since 1.0
+ */
+class SnapshotSection implements TcConfigSection {
+  final char separator;
+  final String[] keys;
+  final Object[] values;
+  private final SnapshotConfig root;
+  private final SnapshotSection parent;
+  private final String name;
+  private final String fullPath;
+  private final Set<String> shallowKeys;
+  private final Set<String> deepKeys;
+  private volatile Map<String, ?> cachedValues;
+
+  SnapshotSection(SnapshotConfig root, SnapshotSection parent, String name, char separator,
+      ValueTable source) {
+    this.root = root != null ? root : (SnapshotConfig) this;
+    this.parent = parent;
+    this.name = name;
+    this.fullPath = parent == null || parent.parent == null ? name
+        : parent.fullPath + separator + name;
+    this.separator = separator;
+
+    var size = source.size();
+    this.keys = new String[size];
+    this.values = new Object[size];
+    var deep = new LinkedHashSet<String>();
+    for (var i = 0; i < size; i++) {
+      var key = keys[i] = source.keyAt(i);
+      var val = source.valueAt(i);
+      deep.add(key);
+      if (val instanceof MemoryConfigSection) {
+        var child = new SnapshotSection(this.root, this, key, separator,
+            ((MemoryConfigSection) val).storage.values());
+        for (var childKey : child.deepKeys) {
+          deep.add(key + separator + childKey);
+        }
+        values[i] = child;
+      } else {
+        values[i] = freeze(val);
+      }
+    }
+    this.shallowKeys = Collections.unmodifiableSet(new LinkedHashSet<>(Arrays.asList(keys)));
+    this.deepKeys = Collections.unmodifiableSet(deep);
+  }
+
+  private static Object freeze(Object val) {
+    if (val instanceof PrimitiveArrays.PrimitiveList) {
+      return val;
+    }
+    if (val instanceof List) {
+      var list = new ArrayList<>(((List<?>) val).size());
+      for (var e : (List<?>) val) {
+        list.add(freeze(e));
+      }
+      return Collections.unmodifiableList(list);
+    }
+    if (val instanceof Map) {
+      var map = new LinkedHashMap<>();
+      ((Map<?, ?>) val).forEach((k, v) -> map.put(k, freeze(v)));
+      return Collections.unmodifiableMap(map);
+    }
+    return val;
+  }
+
+  void collectPaths(Map<String, Object> paths) {
+    for (var i = 0; i < keys.length; i++) {
+      var val = values[i];
+      paths.put(parent == null ? keys[i] : fullPath + separator + keys[i], val);
+      if (val instanceof SnapshotSection) {
+        ((SnapshotSection) val).collectPaths(paths);
+      }
+    }
+  }
+
+  private int indexOf(String key) {
+    for (var i = 0; i < keys.length; i++) {
+      if (keys[i].equals(key)) {
+        return i;
+      }
+    }
+    return -1;
+  }
+
+  private Map<String, ?> cachedValues() {
+    var cached = cachedValues;
+    if (cached == null) {
+      cachedValues = cached = getValues();
+    }
+    return cached;
+  }
+
+  private static <T> T cast(Object val, Class<T> type) {
+    if (val instanceof SnapshotSection) {
+      return TcConfigSerializations.deserializeObject(type,
+          ((SnapshotSection) val).cachedValues());
+    }
+    return type.isInstance(val) ? type.cast(val) : null;
+  }
+
+  private static UnsupportedOperationException immutable() {
+    return new UnsupportedOperationException("Snapshot cannot be modified");
+  }
+
+  @Override
+  public <T> @Nullable T get(@NotNull String path, @NotNull Class<T> type) {
+    return cast(get(path), type);
+  }
+
+  @Override
+  public <T> @Nullable T get(@NotNull ConfigPath path, @NotNull Class<T> type) {
+    return cast(get(path), type);
+  }
+
+  @Override
+  public <T> @Nullable T getOrDefault(@NotNull String path, @NotNull Class<T> type,
+      @Nullable T def) {
+    var val = get(path, type);
+    return val != null ? val : def;
+  }
+
+  @Override
+  public @Nullable Object get(@NotNull String path) {
+    return getOrDefault(path, null);
+  }
+
+  @Override
+  public @Nullable Object getOrDefault(@NotNull String path, @Nullable Object def) {
+    Validators.notNullArgs(path, "Path cannot be null");
+    if (path.isEmpty()) {
+      return def;
+    }
+
+    var val = root.lookup(parent == null ? path : fullPath + separator + path);
+    if (val != null) {
+      return val;
+    }
+    checkSections(path);
+    return def;
+  }
+
+  /**
+   * Throws the same exception as the live tree when a node before the last one of the path isn't
+   * a section.
+   */
+  private void checkSections(String path) {
+    var section = this;
+    var from = 0;
+    for (int sepInd; (sepInd = path.indexOf(separator, from)) >= 0; from = sepInd + 1) {
+      var node = path.substring(from, sepInd);
+      var ind = section.indexOf(node);
+      if (ind < 0 || !(section.values[ind] instanceof SnapshotSection)) {
+        throw notSection(section, node);
+      }
+      section = (SnapshotSection) section.values[ind];
+    }
+  }
+
+  private static TcConfigException notSection(SnapshotSection section, String node) {
+    return new TcConfigException(SectionPaths.createPath(section, node) + " is not a section");
+  }
+
+  @Override
+  public @Nullable Object get(@NotNull ConfigPath path) {
+    return getOrDefault(path, null);
+  }
+
+  @Override
+  public @Nullable Object getOrDefault(@NotNull ConfigPath path, @Nullable Object def) {
+    Validators.notNullArgs(path, "Path cannot be null");
+    if (path.separator() == separator) {
+      return getOrDefault(path.toString(), def);
+    }
+
+    var section = this;
+    var last = path.size() - 1;
+    for (var i = 0; i <= last; i++) {
+      var ind = section.indexOf(path.segment(i));
+      if (i == last) {
+        return ind < 0 ? def : section.values[ind];
+      }
+      if (ind < 0 || !(section.values[ind] instanceof SnapshotSection)) {
+        throw notSection(section, path.segment(i));
+      }
+      section = (SnapshotSection) section.values[ind];
+    }
+    return def;
+  }
+
+  @Override
+  public @Nullable Object set(@NotNull String path, @Nullable Object value) {
+    throw immutable();
+  }
+
+  @Override
+  public @Nullable Object set(@NotNull ConfigPath path, @Nullable Object value) {
+    throw immutable();
+  }
+
+  @Override
+  public @Nullable Object setIfAbsent(@NotNull String path, @Nullable Object value) {
+    throw immutable();
+  }
+
+  @Override
+  public void putAll(@NotNull Map<String, ?> values) {
+    throw immutable();
+  }
+
+  @Override
+  public void mergeTree(@NotNull Map<String, ?> values, @NotNull MergeStrategy strategy) {
+    throw immutable();
+  }
+
+  @Override
+  public void walk(@NotNull ConfigVisitor visitor) {
+    Validators.notNullArgs(visitor, "Visitor cannot be null");
+    walk(visitor, new WalkCursor(separator), 0);
+  }
+
+  private void walk(ConfigVisitor visitor, WalkCursor cursor, int level) {
+    for (var i = 0; i < keys.length; i++) {
+      var val = values[i];
+      cursor.moveTo(level, keys[i], val);
+      if (!(val instanceof SnapshotSection)) {
+        visitor.visit(cursor);
+        continue;
+      }
+      if (visitor.enterSection(cursor)) {
+        ((SnapshotSection) val).walk(visitor, cursor, level + 1);
+        cursor.moveTo(level, keys[i], val);
+        visitor.exitSection(cursor);
+      }
+    }
+  }
+
+  @Override
+  public @UnmodifiableView @NotNull Set<String> getKeys(boolean deep) {
+    return deep ? deepKeys : shallowKeys;
+  }
+
+  @Override
+  public @NotNull Map<String, ?> getValues() {
+    Map<String, Object> mapped = new LinkedHashMap<>();
+    for (var i = 0; i < keys.length; i++) {
+      var val = values[i];
+      mapped.put(keys[i], val instanceof SnapshotSection ? ((SnapshotSection) val).getValues()
+          : val);
+    }
+    return mapped;
+  }
+
+  @Override
+  public @UnmodifiableView @NotNull IntBuffer getIntArray(@NotNull String path) {
+    var buffer = PrimitiveArrays.intBuffer(get(path));
+    return buffer != null ? buffer : TcConfigSection.super.getIntArray(path);
+  }
+
+  @Override
+  public @UnmodifiableView @NotNull LongBuffer getLongArray(@NotNull String path) {
+    var buffer = PrimitiveArrays.longBuffer(get(path));
+    return buffer != null ? buffer : TcConfigSection.super.getLongArray(path);
+  }
+
+  @Override
+  public @UnmodifiableView @NotNull DoubleBuffer getDoubleArray(@NotNull String path) {
+    var buffer = PrimitiveArrays.doubleBuffer(get(path));
+    return buffer != null ? buffer : TcConfigSection.super.getDoubleArray(path);
+  }
+
+  @Override
+  public boolean hasChild(@NotNull String path) {
+    return getChild(path) != null;
+  }
+
+  @Override
+  public @NotNull TcConfigSection createChild(@NotNull String path) {
+    throw immutable();
+  }
+
+  @Override
+  public @NotNull TcConfigSection createChild(@NotNull String path, Map<String, ?> values) {
+    throw immutable();
+  }
+
+  @Override
+  public @Nullable TcConfigSection getChild(@NotNull String path) {
+    var val = get(path);
+    return val instanceof TcConfigSection ? (TcConfigSection) val : null;
+  }
+
+  @Override
+  public @Nullable TcConfigSection getParent() {
+    return parent;
+  }
+
+  @Override
+  public @NotNull String getName() {
+    return name;
+  }
+
+  @Override
+  public @NotNull String getFullPath() {
+    return fullPath;
+  }
+
+  @Override
+  public @NotNull TcConfig getRoot() {
+    return root;
+  }
+}
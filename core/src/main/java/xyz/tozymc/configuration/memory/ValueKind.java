@@ -0,0 +1,51 @@
+package xyz.tozymc.configuration.memory;
+
+import java.util.Map;
+import java.util.Set;
+import xyz.tozymc.configuration.serialization.TcConfigSerializations;
+import xyz.tozymc.configuration.serialization.annotation.AutoSerialization;
+
+/**
+ * Decides how a value is stored in {@link MemoryStorage}.
+ *
+ * <p>The kind is computed once per class. Only classes that may get a serializer registered later
+ * are checked against the registered serializers on every call, which is a map lookup.
+ */
+enum ValueKind {
+  SCALAR, MAP, ARRAY, SERIALIZABLE, OTHER;
+
+  private static final Set<Class<?>> SCALAR_TYPES = Set.of(String.class, Integer.class,
+      Long.class, Double.class, Float.class, Short.class, Byte.class, Boolean.class,
+      Character.class);
+
+  private static final ClassValue<ValueKind> KINDS = new ClassValue<>() {
+    @Override
+    protected ValueKind computeValue(Class<?> type) {
+      if (SCALAR_TYPES.contains(type)) {
+        return SCALAR;
+      }
+      if (Map.class.isAssignableFrom(type)) {
+        return MAP;
+      }
+      if (type.isArray()) {
+        return ARRAY;
+      }
+      if (type.isAnnotationPresent(AutoSerialization.class)) {
+        return SERIALIZABLE;
+      }
+      return OTHER;
+    }
+  };
+
+  /**
+   * Gets the kind of the non-null value, never returns {@link #OTHER}.
+   */
+  static ValueKind of(Object value) {
+    var type = value.getClass();
+    var kind = KINDS.get(type);
+    if (kind != OTHER) {
+      return kind;
+    }
+    return TcConfigSerializations.isSerializable(type) ? SERIALIZABLE : SCALAR;
+  }
+}
@@ -0,0 +1,426 @@
+package xyz.tozymc.configuration.memory;
+
+import java.util.AbstractSet;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Set;
+import java.util.function.BiConsumer;
+import xyz.tozymc.configuration.util.NumberConversions;
+
+/**
+ * Ordered table of section values.
+ *
+ * <p>{@code int}, {@code long}, {@code double} and {@code boolean} values are kept unboxed in the
+ * {@code prims} column, every other value is kept in the {@code objects} column. The primitive
+ * columns are allocated only when the first primitive value is stored. The box of a primitive
+ * value is created by the first read and dropped when the value is replaced.
+ *
+ * <p>Tables with at most {@value #LINEAR_SCAN_THRESHOLD} keys are searched linearly, which is
+ * faster than hashing for so few keys and needs no extra array. Past the threshold the table
+ * builds an open-addressed table of slot numbers.
+ */
+final class ValueTable {
+  static final byte OBJECT = 0;
+  static final byte INT = 1;
+  static final byte LONG = 2;
+  static final byte DOUBLE = 3;
+  static final byte BOOLEAN = 4;
+
+  static final int LINEAR_SCAN_THRESHOLD = 8;
+
+  private static final int DEFAULT_CAPACITY = 4;
+  private static final String[] EMPTY_KEYS = new String[0];
+  private static final Object[] EMPTY_OBJECTS = new Object[0];
+  private static final long[] EMPTY_PRIMS = new long[0];
+  private static final byte[] EMPTY_KINDS = new byte[0];
+  private static final int[] EMPTY_SLOTS = new int[0];
+
+  private String[] keys = EMPTY_KEYS;
+  private Object[] objects = EMPTY_OBJECTS;
+  private long[] prims = EMPTY_PRIMS;
+  private byte[] kinds = EMPTY_KINDS;
+  private int[] slots = EMPTY_SLOTS;
+  private int size;
+
+  ValueTable() {}
+
+  ValueTable(int capacity) {
+    ensureCapacity(capacity);
+  }
+
+  private ValueTable(ValueTable other) {
+    this.keys = other.keys.clone();
+    this.objects = other.objects.clone();
+    this.prims = other.prims.clone();
+    this.kinds = other.kinds.clone();
+    this.slots = other.slots.clone();
+    this.size = other.size;
+  }
+
+  private static int hash(String key, int from, int to) {
+    var h = 0;
+    for (var i = from; i < to; i++) {
+      h = 31 * h + key.charAt(i);
+    }
+    return spread(h);
+  }
+
+  private static int spread(int h) {
+    return h ^ (h >>> 16);
+  }
+
+  private static int slotsFor(int capacity) {
+    return Integer.highestOneBit(Math.max(1, (capacity << 1) - 1)) << 1;
+  }
+
+  static byte kindOf(Object value) {
+    if (value instanceof Integer) {
+      return INT;
+    }
+    if (value instanceof Long) {
+      return LONG;
+    }
+    if (value instanceof Double) {
+      return DOUBLE;
+    }
+    if (value instanceof Boolean) {
+      return BOOLEAN;
+    }
+    return OBJECT;
+  }
+
+  ValueTable copy() {
+    return new ValueTable(this);
+  }
+
+  int size() {
+    return size;
+  }
+
+  /**
+   * Estimates the heap bytes of this table and its columns, the stored objects aren't counted.
+   */
+  long estimatedBytes() {
+    return ConfigMemoryStats.TABLE_BYTES + ConfigMemoryStats.arrayBytes(keys.length, 4)
+        + ConfigMemoryStats.arrayBytes(objects.length, 4)
+        + ConfigMemoryStats.arrayBytes(prims.length, 8)
+        + ConfigMemoryStats.arrayBytes(kinds.length, 1)
+        + ConfigMemoryStats.arrayBytes(slots.length, 4);
+  }
+
+  String keyAt(int index) {
+    return keys[index];
+  }
+
+  Object objectAt(int index) {
+    return objects[index];
+  }
+
+  byte kind(int index) {
+    return kinds.length == 0 ? OBJECT : kinds[index];
+  }
+
+  int intAt(int index) {
+    switch (kind(index)) {
+      case INT:
+      case LONG:
+        return (int) prims[index];
+      case DOUBLE:
+        return (int) Double.longBitsToDouble(prims[index]);
+      case BOOLEAN:
+        return 0;
+      default:
+        return NumberConversions.toInt(objects[index]);
+    }
+  }
+
+  long longAt(int index) {
+    switch (kind(index)) {
+      case INT:
+      case LONG:
+        return prims[index];
+      case DOUBLE:
+        return (long) Double.longBitsToDouble(prims[index]);
+      case BOOLEAN:
+        return 0L;
+      default:
+        return NumberConversions.toLong(objects[index]);
+    }
+  }
+
+  double doubleAt(int index) {
+    switch (kind(index)) {
+      case INT:
+      case LONG:
+        return prims[index];
+      case DOUBLE:
+        return Double.longBitsToDouble(prims[index]);
+      case BOOLEAN:
+        return 0D;
+      default:
+        return NumberConversions.toDouble(objects[index]);
+    }
+  }
+
+  boolean booleanAt(int index) {
+    switch (kind(index)) {
+      case BOOLEAN:
+        return prims[index] != 0;
+      case OBJECT:
+        var val = objects[index];
+        return val instanceof String && Boolean.parseBoolean((String) val);
+      default:
+        return false;
+    }
+  }
+
+  /**
+   * Gets the value at the index, an unboxed primitive is boxed on the first read and the box is
+   * kept in the {@code objects} column, so reads of an unchanged value return the same object.
+   */
+  Object valueAt(int index) {
+    var val = objects[index];
+    if (val != null) {
+      return val;
+    }
+    switch (kind(index)) {
+      case INT:
+        val = (int) prims[index];
+        break;
+      case LONG:
+        val = prims[index];
+        break;
+      case DOUBLE:
+        val = Double.longBitsToDouble(prims[index]);
+        break;
+      case BOOLEAN:
+        val = prims[index] != 0;
+        break;
+      default:
+        return null;
+    }
+    objects[index] = val;
+    return val;
+  }
+
+  int indexOf(String key) {
+    if (slots.length == 0) {
+      for (var i = 0; i < size; i++) {
+        if (key.equals(keys[i])) {
+          return i;
+        }
+      }
+      return -1;
+    }
+    return probe(spread(key.hashCode()), key, 0, key.length());
+  }
+
+  /**
+   * Finds the slot of the key equal to the region of {@code path} between {@code from} and {@code
+   * to}, without creating a substring.
+   */
+  int indexOf(String path, int from, int to) {
+    var len = to - from;
+    if (slots.length == 0) {
+      for (var i = 0; i < size; i++) {
+        var key = keys[i];
+        if (key.length() == len && path.regionMatches(from, key, 0, len)) {
+          return i;
+        }
+      }
+      return -1;
+    }
+    return probe(hash(path, from, to), path, from, len);
+  }
+
+  private int probe(int hash, String path, int from, int len) {
+    var mask = slots.length - 1;
+    for (var i = hash & mask; ; i = (i + 1) & mask) {
+      var slot = slots[i];
+      if (slot == 0) {
+        return -1;
+      }
+      var key = keys[slot - 1];
+      if (key.length() == len && path.regionMatches(from, key, 0, len)) {
+        return slot - 1;
+      }
+    }
+  }
+
+  boolean containsKey(String key) {
+    return indexOf(key) >= 0;
+  }
+
+  Object get(String key) {
+    var index = indexOf(key);
+    return index < 0 ? null : valueAt(index);
+  }
+
+  Object put(String key, Object value) {
+    var index = indexOf(key);
+    if (index >= 0) {
+      var old = valueAt(index);
+      store(index, value);
+      return old;
+    }
+
+    if (size == keys.length) {
+      grow();
+    }
+    index = size++;
+    keys[index] = key;
+    store(index, value);
+    if (slots.length != 0) {
+      insertSlot(index);
+    } else if (size > LINEAR_SCAN_THRESHOLD) {
+      slots = new int[slotsFor(keys.length)];
+      rehash();
+    }
+    return null;
+  }
+
+  Object remove(String key) {
+    var index = indexOf(key);
+    if (index < 0) {
+      return null;
+    }
+
+    var old = valueAt(index);
+    var moved = size - index - 1;
+    System.arraycopy(keys, index + 1, keys, index, moved);
+    System.arraycopy(objects, index + 1, objects, index, moved);
+    if (kinds.length != 0) {
+      System.arraycopy(prims, index + 1, prims, index, moved);
+      System.arraycopy(kinds, index + 1, kinds, index, moved);
+    }
+    size--;
+    keys[size] = null;
+    objects[size] = null;
+    if (slots.length != 0) {
+      rehash();
+    }
+    return old;
+  }
+
+  void forEach(BiConsumer<String, Object> action) {
+    for (var i = 0; i < size; i++) {
+      action.accept(keys[i], valueAt(i));
+    }
+  }
+
+  Set<String> keySet() {
+    return new KeySet();
+  }
+
+  /**
+   * Grows the table to hold at least {@code capacity} keys. An empty table is sized exactly, a
+   * filled table at least doubles, so repeated calls growing by a few keys copy the columns a
+   * logarithmic number of times.
+   */
+  void ensureCapacity(int capacity) {
+    if (capacity > keys.length) {
+      resize(keys.length == 0 ? capacity : Math.max(capacity, keys.length << 1));
+    }
+  }
+
+  private void store(int index, Object value) {
+    var kind = kindOf(value);
+    if (kinds.length == 0) {
+      if (kind == OBJECT) {
+        objects[index] = value;
+        return;
+      }
+      prims = new long[keys.length];
+      kinds = new byte[keys.length];
+    }
+    kinds[index] = kind;
+    switch (kind) {
+      case INT:
+        prims[index] = (Integer) value;
+        objects[index] = null;
+        break;
+      case LONG:
+        prims[index] = (Long) value;
+        objects[index] = null;
+        break;
+      case DOUBLE:
+        prims[index] = Double.doubleToRawLongBits((Double) value);
+        objects[index] = null;
+        break;
+      case BOOLEAN:
+        prims[index] = (Boolean) value ? 1 : 0;
+        objects[index] = null;
+        break;
+      default:
+        prims[index] = 0;
+        objects[index] = value;
+    }
+  }
+
+  private void grow() {
+    resize(keys.length == 0 ? DEFAULT_CAPACITY : keys.length << 1);
+  }
+
+  private void resize(int capacity) {
+    keys = Arrays.copyOf(keys, capacity);
+    objects = Arrays.copyOf(objects, capacity);
+    if (kinds.length != 0) {
+      prims = Arrays.copyOf(prims, capacity);
+      kinds = Arrays.copyOf(kinds, capacity);
+    }
+    if (slots.length != 0 || size > LINEAR_SCAN_THRESHOLD) {
+      slots = new int[slotsFor(capacity)];
+      rehash();
+    }
+  }
+
+  private void rehash() {
+    Arrays.fill(slots, 0);
+    for (var i = 0; i < size; i++) {
+      insertSlot(i);
+    }
+  }
+
+  private void insertSlot(int index) {
+    var key = keys[index];
+    var mask = slots.length - 1;
+    var i = spread(key.hashCode()) & mask;
+    while (slots[i] != 0) {
+      i = (i + 1) & mask;
+    }
+    slots[i] = index + 1;
+  }
+
+  private final class KeySet extends AbstractSet<String> {
+    @Override
+    public Iterator<String> iterator() {
+      return new Iterator<>() {
+        private int next;
+
+        @Override
+        public boolean hasNext() {
+          return next < size;
+        }
+
+        @Override
+        public String next() {
+          if (next >= size) {
+            throw new NoSuchElementException();
+          }
+          return keys[next++];
+        }
+      };
+    }
+
+    @Override
+    public boolean contains(Object o) {
+      return o instanceof String && containsKey((String) o);
+    }
+
+    @Override
+    public int size() {
+      return size;
+    }
+  }
+}
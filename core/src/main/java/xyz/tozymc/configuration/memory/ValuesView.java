@@ -0,0 +1,86 @@
+package xyz.tozymc.configuration.memory;
+
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Set;
+
+/**
+ * Read-only live view of the values of a {@link MemoryStorage}.
+ *
+ * <p>Child sections are shown as the views of their storages and entries are created only while
+ * iterating, nothing is copied. An iteration reads the table of each section once, so it sees
+ * every section either before or after a concurrent copy-on-write change.
+ *
+ * <p>The raw view keeps primitive arrays as arrays instead of {@link java.util.List}, which is the
+ * form written to files.
+ */
+final class ValuesView extends AbstractMap<String, Object> {
+  private final MemoryStorage storage;
+  private final boolean raw;
+  private Set<Entry<String, Object>> entrySet;
+
+  ValuesView(MemoryStorage storage, boolean raw) {
+    this.storage = storage;
+    this.raw = raw;
+  }
+
+  private Object wrap(Object value) {
+    if (value instanceof MemoryConfigSection) {
+      return ((MemoryConfigSection) value).storage.view(raw);
+    }
+    return raw ? PrimitiveArrays.unwrap(value) : PrimitiveArrays.readOnly(value);
+  }
+
+  @Override
+  public int size() {
+    return storage.values().size();
+  }
+
+  @Override
+  public boolean containsKey(Object key) {
+    return key instanceof String && storage.values().containsKey((String) key);
+  }
+
+  @Override
+  public Object get(Object key) {
+    return key instanceof String ? wrap(storage.values().get((String) key)) : null;
+  }
+
+  @Override
+  public Set<Entry<String, Object>> entrySet() {
+    var set = entrySet;
+    if (set == null) {
+      entrySet = set = new AbstractSet<>() {
+        @Override
+        public Iterator<Entry<String, Object>> iterator() {
+          var table = storage.values();
+          return new Iterator<>() {
+            private int index;
+
+            @Override
+            public boolean hasNext() {
+              return index < table.size();
+            }
+
+            @Override
+            public Entry<String, Object> next() {
+              if (index >= table.size()) {
+                throw new NoSuchElementException();
+              }
+              var i = index++;
+              return new SimpleImmutableEntry<>(table.keyAt(i), wrap(table.valueAt(i)));
+            }
+          };
+        }
+
+        @Override
+        public int size() {
+          return storage.values().size();
+        }
+      };
+    }
+    return set;
+  }
+}
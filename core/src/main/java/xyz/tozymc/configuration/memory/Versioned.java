@@ -0,0 +1,11 @@
+package xyz.tozymc.configuration.memory;
+
+final class Versioned<T> {
+  final int version;
+  final T value;
+
+  Versioned(int version, T value) {
+    this.version = version;
+    this.value = value;
+  }
+}
@@ -0,0 +1,101 @@
+package xyz.tozymc.configuration.memory;
+
+import java.util.Arrays;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import xyz.tozymc.configuration.ConfigVisitor;
+import xyz.tozymc.configuration.util.NumberConversions;
+
+/**
+ * The entry passed to a {@link ConfigVisitor}, one cursor is moved over the whole walk.
+ *
+ * <p>Values of a {@link ValueTable} are read through the table, so primitives aren't boxed unless
+ * {@link #value()} is called. Values of a snapshot are read from the given object.
+ */
+final class WalkCursor implements ConfigVisitor.Entry {
+  private final char separator;
+  private String[] segments = new String[8];
+  private int depth;
+  private ValueTable table;
+  private int index;
+  private Object value;
+
+  WalkCursor(char separator) {this.separator = separator;}
+
+  void moveTo(int level, String key, ValueTable table, int index) {
+    moveTo(level, key);
+    this.table = table;
+    this.index = index;
+    this.value = null;
+  }
+
+  void moveTo(int level, String key, Object value) {
+    moveTo(level, key);
+    this.table = null;
+    this.value = value;
+  }
+
+  private void moveTo(int level, String key) {
+    if (level == segments.length) {
+      segments = Arrays.copyOf(segments, level << 1);
+    }
+    segments[level] = key;
+    depth = level + 1;
+  }
+
+  @Override
+  public int depth() {
+    return depth;
+  }
+
+  @Override
+  public @NotNull String segment(int level) {
+    if (level < 0 || level >= depth) {
+      throw new IndexOutOfBoundsException("Level " + level + " out of depth " + depth);
+    }
+    return segments[level];
+  }
+
+  @Override
+  public @NotNull String path() {
+    if (depth == 1) {
+      return segments[0];
+    }
+    var builder = new StringBuilder(segments[0]);
+    for (var i = 1; i < depth; i++) {
+      builder.append(separator).append(segments[i]);
+    }
+    return builder.toString();
+  }
+
+  @Override
+  public @Nullable Object value() {
+    return table != null ? table.valueAt(index) : value;
+  }
+
+  @Override
+  public int intValue() {
+    return table != null ? table.intAt(index) : NumberConversions.toInt(value);
+  }
+
+  @Override
+  public long longValue() {
+    return table != null ? table.longAt(index) : NumberConversions.toLong(value);
+  }
+
+  @Override
+  public double doubleValue() {
+    return table != null ? table.doubleAt(index) : NumberConversions.toDouble(value);
+  }
+
+  @Override
+  public boolean booleanValue() {
+    if (table != null) {
+      return table.booleanAt(index);
+    }
+    if (value instanceof Boolean) {
+      return (boolean) value;
+    }
+    return value instanceof String && Boolean.parseBoolean((String) value);
+  }
+}
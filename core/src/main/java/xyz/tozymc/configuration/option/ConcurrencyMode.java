@@ -0,0 +1,39 @@
+package xyz.tozymc.configuration.option;
+
+import xyz.tozymc.configuration.TcConfig;
+
+/**
+ * The list of modes that define how {@link TcConfig} can be shared between threads.
+ *
+ * @author TozyMC
+ * @since 1.0
+ */
+public enum ConcurrencyMode {
+  /**
+   * The configuration is not thread-safe, it must be locked externally when it is shared.
+   */
+  NONE,
+  /**
+   * Every section replaces its values with a modified copy on write. Reads never lock and always
+   * see a complete section, writes are serialized on the root config.
+   *
+   * <p><b>Notes: </b>Each write copies the values of the changed section, this mode suits
+   * configurations that are read much more often than written.
+   */
+  COPY_ON_WRITE,
+  /**
+   * Reads hold the read lock of a {@link java.util.concurrent.locks.ReentrantReadWriteLock} of the
+   * root config, writes and reloads hold its write lock and change the values in place.
+   */
+  READ_WRITE_LOCK,
+  /**
+   * Every section replaces its values with a modified copy on write like {@link #COPY_ON_WRITE},
+   * writes and reloads hold the write lock of a {@link java.util.concurrent.locks.StampedLock} of
+   * the root config. Reads take an optimistic stamp and are repeated under the read lock only when
+   * a write happened meanwhile, so a read spanning several sections never mixes two versions.
+   *
+   * <p><b>Notes: </b>Reads never block each other, this mode suits configurations that are read
+   * from many threads and rarely written.
+   */
+  OPTIMISTIC
+}
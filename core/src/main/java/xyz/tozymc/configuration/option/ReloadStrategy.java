@@ -0,0 +1,28 @@
+package xyz.tozymc.configuration.option;
+
+import xyz.tozymc.configuration.TcConfig;
+
+/**
+ * The list of strategies that define how {@link TcConfig} applies the values loaded by a reload.
+ *
+ * @author TozyMC
+ * @since 1.0
+ */
+public enum ReloadStrategy {
+  /**
+   * The loaded tree is built aside and replaces the whole tree at once. Readers never see a
+   * partially applied reload, every section held before the reload is detached.
+   */
+  REPLACE,
+  /**
+   * The loaded tree is compared with the current tree and only the changed values are replaced.
+   * Unchanged sections keep their identity, their caches and the objects deserialized from them.
+   *
+   * <p><b>Notes: </b>The whole loaded tree is still read and compared, but unchanged sections and
+   * values aren't allocated again. Readers on other threads may see a reload applied to some
+   * sections and not yet to others. Existing keys keep their order. With {@link
+   * ConcurrencyMode#READ_WRITE_LOCK} the values are changed in place under the write lock, file
+   * configurations encode their values under the read lock when saving.
+   */
+  DIFF
+}
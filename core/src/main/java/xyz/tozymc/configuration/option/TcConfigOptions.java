@@ -19,6 +19,11 @@ public abstract class TcConfigOptions {
 
   private final TcConfig config;
   private char pathSeparator = DEFAULT_PATH_SEPARATOR;
+  private boolean pathIndex;
+  private boolean sortedPathIndex;
+  private boolean lazySections;
+  private ConcurrencyMode concurrencyMode = ConcurrencyMode.NONE;
+  private ReloadStrategy reloadStrategy = ReloadStrategy.REPLACE;
 
   /**
    * Creates new {@link TcConfigOptions} for {@link TcConfig}.
@@ -49,6 +54,125 @@ public abstract class TcConfigOptions {
     return this;
   }
 
+  /**
+   * Checks if the full path index is enabled, default is {@code false}.
+   *
+   * <p>The index maps every full path of the configuration to its value, so a value at any depth
+   * is found by one lookup. The index is kept up to date on every change and costs one map entry
+   * per value and section.
+   *
+   * @return True if the full path index is enabled.
+   */
+  public boolean pathIndex() {
+    return pathIndex;
+  }
+
+  /**
+   * Enables or disables the full path index.
+   *
+   * @param pathIndex True to enable the full path index.
+   * @return This object, for chaining.
+   * @see #pathIndex()
+   */
+  public @NotNull TcConfigOptions pathIndex(boolean pathIndex) {
+    this.pathIndex = pathIndex;
+    return this;
+  }
+
+  /**
+   * Checks if the full path index keeps the paths sorted, default is {@code false}.
+   *
+   * <p>The sorted index answers {@link TcConfigSection#keysWithPrefix(String)} and {@link
+   * TcConfigSection#keysInRange(String, String)} in time proportional to the number of returned
+   * keys, but every lookup and change of the index costs a logarithmic search instead of a hash
+   * lookup. It has no effect unless {@link #pathIndex()} is enabled.
+   *
+   * @return True if the full path index is sorted.
+   */
+  public boolean sortedPathIndex() {
+    return sortedPathIndex;
+  }
+
+  /**
+   * Enables or disables the sorting of the full path index.
+   *
+   * @param sortedPathIndex True to keep the full path index sorted.
+   * @return This object, for chaining.
+   * @see #sortedPathIndex()
+   */
+  public @NotNull TcConfigOptions sortedPathIndex(boolean sortedPathIndex) {
+    this.sortedPathIndex = sortedPathIndex;
+    return this;
+  }
+
+  /**
+   * Checks if the child sections are loaded lazily, default is {@code false}.
+   *
+   * <p>When enabled, reloading keeps the loaded map of every child section and turns it into the
+   * section values only the first time the section is read or changed. Reloading is faster and
+   * sections that are never accessed cost only the loaded map. It is ignored while the sorted
+   * path index is enabled, which must hold every path.
+   *
+   * @return True if the child sections are loaded lazily.
+   */
+  public boolean lazySections() {
+    return lazySections;
+  }
+
+  /**
+   * Enables or disables lazy loading of the child sections.
+   *
+   * @param lazySections True to load the child sections lazily.
+   * @return This object, for chaining.
+   * @see #lazySections()
+   */
+  public @NotNull TcConfigOptions lazySections(boolean lazySections) {
+    this.lazySections = lazySections;
+    return this;
+  }
+
+  /**
+   * Gets the mode that defines how the configuration can be shared between threads, default is
+   * {@link ConcurrencyMode#NONE}.
+   *
+   * @return The concurrency mode.
+   */
+  public @NotNull ConcurrencyMode concurrencyMode() {
+    return concurrencyMode;
+  }
+
+  /**
+   * Sets the mode that defines how the configuration can be shared between threads.
+   *
+   * @param concurrencyMode The concurrency mode.
+   * @return This object, for chaining.
+   */
+  public @NotNull TcConfigOptions concurrencyMode(@NotNull ConcurrencyMode concurrencyMode) {
+    this.concurrencyMode = concurrencyMode;
+    return this;
+  }
+
+  /**
+   * Gets the strategy that defines how reloaded values are applied, default is {@link
+   * ReloadStrategy#REPLACE}.
+   *
+   * @return The reload strategy.
+   */
+  public @NotNull ReloadStrategy reloadStrategy() {
+    return reloadStrategy;
+  }
+
+  /**
+   * Sets the strategy that defines how reloaded values are applied.
+   *
+   * @param reloadStrategy The reload strategy.
+   * @return This object, for chaining.
+   */
+  public @NotNull TcConfigOptions reloadStrategy(@NotNull ReloadStrategy reloadStrategy) {
+    this.reloadStrategy = reloadStrategy;
+    return this;
+  }
+
   /**
    * Returns the {@link TcConfig} that owned this options.
    *
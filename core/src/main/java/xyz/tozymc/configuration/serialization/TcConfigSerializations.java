@@ -105,6 +105,18 @@ public final class TcConfigSerializations {
     return Class.forName(typeName.substring(typeName.indexOf('<') + 1, typeName.indexOf('>')));
   }
 
+  /**
+   * Checks if the objects of the type can be serialized, that is a serializer is registered for the
+   * type or the type is annotated with {@link AutoSerialization}.
+   *
+   * @param type The class type of object.
+   * @return True if the objects of the type can be serialized.
+   */
+  public static boolean isSerializable(@NotNull Class<?> type) {
+    return registeredSerializers.containsKey(type)
+        || type.isAnnotationPresent(AutoSerialization.class);
+  }
+
   /**
    * Creates map represented the object.
    *
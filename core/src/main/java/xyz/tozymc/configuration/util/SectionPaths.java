@@ -14,7 +14,7 @@ public final class SectionPaths {
     var parentPath = parent.getFullPath();
     return parentPath.isBlank()
         ? name
-        : String.format("%s%s%s", parentPath, getPathSeparator(parent), name);
+        : parentPath + getPathSeparator(parent) + name;
   }
 
   public static @NotNull String createPath(@NotNull TcConfigSection parent,
@@ -27,10 +27,10 @@ public final class SectionPaths {
       }
       builder.insert(0, curr.getName());
     }
-    if (builder.length() > 0) {
-      builder.append(sep);
+    if (builder.length() == 0) {
+      return name;
     }
-    return builder.append(name).toString();
+    return builder.append(sep).append(name).toString();
   }
 
   private static char getPathSeparator(TcConfigSection section) {
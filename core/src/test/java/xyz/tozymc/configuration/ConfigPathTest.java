@@ -0,0 +1,39 @@
+package xyz.tozymc.configuration;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+import org.junit.jupiter.api.Test;
+
+class ConfigPathTest {
+  @Test
+  void of_splitSegments() {
+    var path = ConfigPath.of("servers.eu.port", '.');
+    assertEquals(3, path.size());
+    assertEquals("servers", path.segment(0));
+    assertEquals("eu", path.segment(1));
+    assertEquals("port", path.lastSegment());
+    assertEquals("servers.eu.port", path.toString());
+  }
+
+  @Test
+  void of_emptyPath() {
+    var path = ConfigPath.of("", '.');
+    assertEquals(0, path.size());
+    assertEquals("", path.lastSegment());
+  }
+
+  @Test
+  void of_internSegments() {
+    var first = ConfigPath.of("a.host", '.');
+    var second = ConfigPath.of(new String("b/host"), '/');
+    assertSame(first.segment(1), second.segment(1));
+  }
+
+  @Test
+  void equals_ignoreSeparator() {
+    assertEquals(ConfigPath.of("a.b.c", '.'), ConfigPath.of("a/b/c", '/'));
+    assertNotEquals(ConfigPath.of("a.b.c", '.'), ConfigPath.of("a.b.c", '/'));
+  }
+}
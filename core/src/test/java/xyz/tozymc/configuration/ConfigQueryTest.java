@@ -0,0 +1,33 @@
+package xyz.tozymc.configuration;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.Test;
+
+class ConfigQueryTest {
+  @Test
+  void matches_wildcards() {
+    var ports = ConfigQuery.compile("servers.*.port", '.');
+    assertTrue(ports.matches("servers.eu.port", '.'));
+    assertFalse(ports.matches("servers.port", '.'));
+    assertFalse(ports.matches("servers.eu.db.port", '.'));
+
+    var enabled = ConfigQuery.compile("**.enabled", '.');
+    assertTrue(enabled.matches("enabled", '.'));
+    assertTrue(enabled.matches("a.b.c.enabled", '.'));
+    assertFalse(enabled.matches("a.enabled.b", '.'));
+
+    var glob = ConfigQuery.compile("servers/eu-*/**", '/');
+    assertTrue(glob.matches("servers/eu-west", '/'));
+    assertTrue(glob.matches("servers/eu-/db/host", '/'));
+    assertFalse(glob.matches("servers/us/db/host", '/'));
+  }
+
+  @Test
+  void equals_ignoreSeparator() {
+    assertEquals(ConfigQuery.compile("a.*.b", '.'), ConfigQuery.compile("a/*/b", '/'));
+    assertEquals("a/*/b", ConfigQuery.compile("a/*/b", '/').toString());
+  }
+}
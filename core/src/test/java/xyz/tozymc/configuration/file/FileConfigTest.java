@@ -0,0 +1,218 @@
+package xyz.tozymc.configuration.file;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import xyz.tozymc.configuration.file.option.ReloadableType;
+import xyz.tozymc.configuration.option.ConcurrencyMode;
+import xyz.tozymc.configuration.option.ReloadStrategy;
+
+class FileConfigTest {
+  private Path dir;
+
+  static final class LinesConfig extends FileConfig {
+    private volatile boolean failing;
+    private volatile CountDownLatch writeStarted;
+    private volatile CountDownLatch writeReleased;
+
+    LinesConfig(Path path) {
+      super(path);
+    }
+
+    @Override
+    protected Map<String, ?> readToMap() throws IOException {
+      Map<String, Object> values = new LinkedHashMap<>();
+      for (var line : Files.readAllLines(getPath())) {
+        var pair = line.split("=", 2);
+        values.put(pair[0], pair[1]);
+      }
+      return values;
+    }
+
+    @Override
+    protected String writeToString() {
+      var builder = new StringBuilder();
+      getValuesWithoutReload().forEach((k, v) -> builder.append(k).append('=').append(v)
+          .append('\n'));
+      return builder.toString();
+    }
+
+    @Override
+    protected void writeTo(Writer writer, Map<String, ?> values) throws IOException {
+      var released = writeReleased;
+      if (released != null) {
+        writeStarted.countDown();
+        try {
+          released.await();
+        } catch (InterruptedException e) {
+          throw new IOException(e);
+        }
+      }
+      for (var entry : values.entrySet()) {
+        writer.write(entry.getKey() + '=' + entry.getValue() + '\n');
+        if (failing) {
+          throw new IOException("Disk full");
+        }
+      }
+    }
+  }
+
+  @BeforeEach
+  void createDir() throws IOException {
+    dir = Files.createTempDirectory("file-config");
+  }
+
+  @AfterEach
+  void deleteDir() throws IOException {
+    try (var files = Files.list(dir)) {
+      for (var file : files.collect(Collectors.toList())) {
+        Files.delete(file);
+      }
+    }
+    Files.delete(dir);
+  }
+
+  @Test
+  void save_replacesFileAtomically() throws IOException {
+    var path = dir.resolve("config.txt");
+    Files.writeString(path, "a=1\n");
+    var config = new LinesConfig(path);
+    config.reload();
+
+    config.set("b", 2);
+    assertEquals(List.of("a=1", "b=2"), Files.readAllLines(path));
+
+    config.failing = true;
+    assertThrows(UncheckedIOException.class, () -> config.set("c", 3));
+    assertEquals(List.of("a=1", "b=2"), Files.readAllLines(path));
+    try (var files = Files.list(dir)) {
+      assertEquals(List.of(path), files.collect(Collectors.toList()));
+    }
+  }
+
+  @Test
+  void edit_readsOwnChangesWithAutomaticReload() throws IOException {
+    var path = dir.resolve("config.txt");
+    Files.writeString(path, "a=0\nb=0\n");
+    var config = new LinesConfig(path);
+    config.getOptions().reloadType(ReloadableType.AUTOMATICALLY);
+    config.reload();
+
+    config.edit(c -> {
+      c.set("a", 1);
+      c.set("b", c.getInt("a") + 1);
+    });
+    assertEquals(List.of("a=1", "b=2"), Files.readAllLines(path));
+    assertEquals(1, config.getInt("a"));
+    assertEquals(2, config.getInt("b"));
+  }
+
+  @Test
+  void writeBehind_keepsUnsavedChangesAndDoesNotBlockMutations() throws Exception {
+    var path = dir.resolve("config.txt");
+    Files.writeString(path, "a=0\n");
+    var config = new LinesConfig(path);
+    config.getOptions().reloadType(ReloadableType.INTELLIGENT)
+        .writeBehind(Duration.ofMillis(1));
+    config.reload();
+
+    config.writeStarted = new CountDownLatch(1);
+    config.writeReleased = new CountDownLatch(1);
+    config.set("a", 7);
+    assertEquals(7, config.getInt("a"));
+    assertTrue(config.writeStarted.await(5, TimeUnit.SECONDS));
+
+    var mutator = new Thread(() -> config.set("b", 8));
+    mutator.start();
+    mutator.join(5_000);
+    assertFalse(mutator.isAlive());
+    assertEquals(8, config.getInt("b"));
+
+    config.writeReleased.countDown();
+    config.writeReleased = null;
+    config.awaitPersisted();
+    assertEquals(List.of("a=7", "b=8"), Files.readAllLines(path));
+    assertEquals(7, config.getInt("a"));
+  }
+
+  @Test
+  void writeBehind_rejectsNonPositiveDelay() throws IOException {
+    var path = dir.resolve("config.txt");
+    Files.writeString(path, "");
+    var options = new LinesConfig(path).getOptions();
+    assertThrows(IllegalArgumentException.class, () -> options.writeBehind(Duration.ZERO));
+    assertThrows(IllegalArgumentException.class,
+        () -> options.writeBehind(Duration.ofSeconds(-1)));
+  }
+
+  @Test
+  void save_readWriteLock_orderedAgainstDiffReload() throws Exception {
+    var path = dir.resolve("config.txt");
+    Files.writeString(path, "a=0\n");
+    var config = new LinesConfig(path);
+    config.getOptions().reloadType(ReloadableType.MANUALLY);
+    config.getOptions().concurrencyMode(ConcurrencyMode.READ_WRITE_LOCK);
+    config.getOptions().reloadStrategy(ReloadStrategy.DIFF);
+    config.reload();
+
+    config.writeStarted = new CountDownLatch(1);
+    config.writeReleased = new CountDownLatch(1);
+    var saver = new Thread(config::save);
+    saver.start();
+    assertTrue(config.writeStarted.await(5, TimeUnit.SECONDS));
+
+    Files.writeString(path, "a=1\n");
+    var reloader = new Thread(config::reload);
+    reloader.start();
+    reloader.join(200);
+    assertTrue(reloader.isAlive());
+
+    config.writeReleased.countDown();
+    saver.join(5_000);
+    reloader.join(5_000);
+    assertFalse(reloader.isAlive());
+    assertEquals(List.of("a=0"), Files.readAllLines(path));
+    assertEquals(1, config.getInt("a"));
+  }
+
+  @Test
+  void watch_cancelledWhenUnwatchedOrCollected() throws Exception {
+    var path = dir.resolve("config.txt");
+    Files.writeString(path, "a=0\n");
+    var config = new LinesConfig(path);
+    config.getOptions().reloadType(ReloadableType.WATCH);
+    config.reload();
+    assertEquals(1, FileConfigWatcher.watchedDirCount());
+
+    config.getOptions().reloadType(ReloadableType.MANUALLY);
+    config.get("a");
+    assertEquals(0, FileConfigWatcher.watchedDirCount());
+
+    config.getOptions().reloadType(ReloadableType.WATCH);
+    config.get("a");
+    assertEquals(1, FileConfigWatcher.watchedDirCount());
+    config = null;
+    for (var i = 0; i < 100 && FileConfigWatcher.watchedDirCount() > 0; i++) {
+      System.gc();
+      Thread.sleep(100);
+    }
+    assertEquals(0, FileConfigWatcher.watchedDirCount());
+  }
+}
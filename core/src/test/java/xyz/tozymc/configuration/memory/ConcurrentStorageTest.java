@@ -0,0 +1,180 @@
+package xyz.tozymc.configuration.memory;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.Test;
+import xyz.tozymc.configuration.option.ConcurrencyMode;
+
+class ConcurrentStorageTest {
+  private static final int SERVERS = 64;
+  private static final int ITERATIONS = 2_000;
+
+  private static Map<String, Object> generateValues() {
+    var servers = new LinkedHashMap<String, Object>();
+    for (var i = 0; i < SERVERS; i++) {
+      var server = new LinkedHashMap<String, Object>();
+      server.put("host", "server-" + i + ".internal");
+      server.put("port", 8000 + i);
+      server.put("enabled", i % 2 == 0);
+      servers.put("s" + i, server);
+    }
+    var values = new LinkedHashMap<String, Object>();
+    values.put("name", "stress");
+    values.put("servers", servers);
+    return values;
+  }
+
+  private static void stress(ConcurrencyMode mode, boolean pathIndex)
+      throws InterruptedException {
+    var config = new SimpleConfig();
+    config.getOptions().concurrencyMode(mode).pathIndex(pathIndex);
+    var values = generateValues();
+    config.reloadSection(values);
+
+    Queue<Throwable> failures = new ConcurrentLinkedQueue<>();
+    List<Runnable> tasks = new ArrayList<>();
+    for (var t = 0; t < 4; t++) {
+      tasks.add(() -> {
+        for (var i = 0; i < ITERATIONS; i++) {
+          var server = i % SERVERS;
+          assertEquals(8000 + server, config.getInt("servers.s" + server + ".port"));
+          assertTrue(config.hasChild("servers"));
+          assertTrue(config.getKeys(true).size() >= 1 + 1 + SERVERS * 4);
+          assertEquals("stress", config.getValues().get("name"));
+        }
+      });
+    }
+    for (var t = 0; t < 2; t++) {
+      var writer = t;
+      tasks.add(() -> {
+        for (var i = 0; i < ITERATIONS; i++) {
+          config.set("servers.s" + (i % SERVERS) + ".weight", writer * ITERATIONS + i);
+          config.set("writer" + writer + ".counter", i);
+        }
+      });
+    }
+    tasks.add(() -> {
+      for (var i = 0; i < ITERATIONS / 10; i++) {
+        config.reloadSection(values);
+      }
+    });
+
+    var start = new CountDownLatch(1);
+    var done = new CountDownLatch(tasks.size());
+    for (var task : tasks) {
+      new Thread(() -> {
+        try {
+          start.await();
+          task.run();
+        } catch (Throwable e) {
+          failures.add(e);
+        } finally {
+          done.countDown();
+        }
+      }).start();
+    }
+    start.countDown();
+
+    assertTrue(done.await(1, TimeUnit.MINUTES));
+    assertTrue(failures.isEmpty(), () -> "Failures: " + failures);
+  }
+
+  @Test
+  void reload_readersNeverSeePartialTree() throws InterruptedException {
+    var config = new SimpleConfig();
+    var values = generateValues();
+    config.reloadSection(values);
+
+    Queue<Throwable> failures = new ConcurrentLinkedQueue<>();
+    var reloader = new Thread(() -> {
+      for (var i = 0; i < ITERATIONS; i++) {
+        config.reloadSection(values);
+      }
+    });
+    var reader = new Thread(() -> {
+      try {
+        while (reloader.isAlive()) {
+          assertEquals("stress", config.getString("name"));
+          assertEquals(8000 + SERVERS - 1, config.getInt("servers.s" + (SERVERS - 1) + ".port"));
+        }
+      } catch (Throwable e) {
+        failures.add(e);
+      }
+    });
+    reloader.start();
+    reader.start();
+    reloader.join();
+    reader.join();
+
+    assertTrue(failures.isEmpty(), () -> "Failures: " + failures);
+  }
+
+  @Test
+  void optimistic_pathIndex_builtWhileWriting() throws InterruptedException {
+    for (var trial = 0; trial < 500; trial++) {
+      var config = new SimpleConfig();
+      config.getOptions().concurrencyMode(ConcurrencyMode.OPTIMISTIC).pathIndex(true);
+      for (var i = 0; i < 200; i++) {
+        config.set("s" + i + ".k0", 0);
+      }
+
+      var start = new CountDownLatch(1);
+      var writer = new Thread(() -> {
+        try {
+          start.await();
+        } catch (InterruptedException e) {
+          return;
+        }
+        for (var i = 0; i < 200; i++) {
+          config.set("s" + i + ".k0", 1);
+        }
+      });
+      var reader = new Thread(() -> {
+        try {
+          start.await();
+        } catch (InterruptedException e) {
+          return;
+        }
+        config.get("s0.k0");
+      });
+      writer.start();
+      reader.start();
+      start.countDown();
+      writer.join();
+      reader.join();
+
+      for (var i = 0; i < 200; i++) {
+        assertEquals(1, config.get("s" + i + ".k0"));
+      }
+    }
+  }
+
+  @Test
+  void copyOnWrite_readWriteWhileReloading() throws InterruptedException {
+    stress(ConcurrencyMode.COPY_ON_WRITE, false);
+  }
+
+  @Test
+  void copyOnWrite_pathIndex_readWriteWhileReloading() throws InterruptedException {
+    stress(ConcurrencyMode.COPY_ON_WRITE, true);
+  }
+
+  @Test
+  void readWriteLock_readWriteWhileReloading() throws InterruptedException {
+    stress(ConcurrencyMode.READ_WRITE_LOCK, false);
+  }
+
+  @Test
+  void optimistic_pathIndex_readWriteWhileReloading() throws InterruptedException {
+    stress(ConcurrencyMode.OPTIMISTIC, true);
+  }
+}
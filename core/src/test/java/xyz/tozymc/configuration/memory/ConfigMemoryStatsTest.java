@@ -0,0 +1,52 @@
+package xyz.tozymc.configuration.memory;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import org.junit.jupiter.api.Test;
+
+class ConfigMemoryStatsTest {
+  private static final Map<String, ?> TREE = Map.of("name", new String("tenant"), "servers",
+      Map.of("eu", Map.of("port", 80, "host", new String("tenant")), "us",
+          Map.of("port", 81, "ports", List.of(1, 2))), "enabled", true);
+
+  @Test
+  void memoryStats_countsTree() {
+    for (var lazy : new boolean[]{false, true}) {
+      var config = new SimpleConfig();
+      config.getOptions().lazySections(lazy);
+      config.reloadSection(TREE);
+
+      var stats = config.memoryStats();
+      assertEquals(4, stats.sectionCount());
+      assertEquals(6, stats.leafCount());
+      assertEquals(2, (int) stats.leafCounts().get(Integer.class));
+      assertEquals(2, (int) stats.leafCounts().get(String.class));
+      assertArrayEquals(new int[]{3, 2, 4}, stats.depthHistogram());
+      assertEquals(Set.of("servers", "servers.eu", "servers.us"),
+          stats.sectionBytes().keySet());
+      assertTrue(stats.duplicateStringCount() >= 1);
+      assertTrue(stats.retainedBytes() > stats.sectionBytes().get("servers"));
+      assertTrue(stats.sectionBytes().get("servers") > stats.sectionBytes().get("servers.eu")
+          + stats.sectionBytes().get("servers.us"));
+    }
+  }
+
+  @Test
+  void memoryStats_countsPathIndexOnRoot() {
+    var config = new SimpleConfig();
+    config.reloadSection(TREE);
+    assertEquals(0, config.memoryStats().indexBytes());
+
+    config.getOptions().pathIndex(true);
+    config.get("servers.eu.port");
+    var stats = config.memoryStats();
+    assertTrue(stats.indexBytes() > 0);
+    assertEquals(0, ((MemoryConfigSection) config.getChild("servers")).memoryStats()
+        .indexBytes());
+  }
+}
@@ -0,0 +1,473 @@
+package xyz.tozymc.configuration.memory;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertIterableEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+import java.util.TreeSet;
+import org.junit.jupiter.api.Test;
+import xyz.tozymc.configuration.ConfigQuery;
+import xyz.tozymc.configuration.ConfigVisitor;
+import xyz.tozymc.configuration.MergeStrategy;
+import xyz.tozymc.configuration.TcConfigSection;
+import xyz.tozymc.configuration.exception.TcConfigException;
+import xyz.tozymc.configuration.option.ConcurrencyMode;
+import xyz.tozymc.configuration.option.ReloadStrategy;
+import xyz.tozymc.configuration.serialization.annotation.AutoSerialization;
+import xyz.tozymc.configuration.serialization.annotation.SerializeAs;
+
+class MemoryStorageTest {
+  @AutoSerialization
+  static final class ImmutablePoint {
+    @SerializeAs("x") private final int x;
+    @SerializeAs("y") private final int y;
+
+    ImmutablePoint(int x, int y) {
+      this.x = x;
+      this.y = y;
+    }
+  }
+
+  private static Set<String> walkKeys(Map<String, ?> values, String prefix) {
+    Set<String> keys = new LinkedHashSet<>();
+    values.forEach((k, v) -> {
+      var key = prefix.isEmpty() ? k : prefix + '.' + k;
+      keys.add(key);
+      if (v instanceof Map) {
+        //noinspection unchecked
+        keys.addAll(walkKeys((Map<String, ?>) v, key));
+      }
+    });
+    return keys;
+  }
+
+  private static void assertDeepKeys(TcConfigSection section) {
+    assertEquals(walkKeys(section.getValues(), ""), section.getKeys(true));
+  }
+
+  @Test
+  void getKeys_deep_followsChanges() {
+    var config = new SimpleConfig();
+    var random = new Random(7);
+    config.set("a.b.c", 1);
+    var nested = config.getChild("a.b");
+    assertDeepKeys(config);
+    assertDeepKeys(nested);
+    assertSame(config.getKeys(true), config.getKeys(true));
+
+    for (var i = 0; i < 2_000; i++) {
+      var path = "a." + (char) ('a' + random.nextInt(3)) + '.' + random.nextInt(4);
+      switch (random.nextInt(4)) {
+        case 0:
+          config.remove(path);
+          break;
+        case 1:
+          config.set(path, Map.of("x", i, "y", Map.of("z", i)));
+          break;
+        case 2:
+          nested.set("n" + random.nextInt(4), i);
+          break;
+        default:
+          config.set(path, i);
+      }
+      assertDeepKeys(config);
+      assertDeepKeys(config.getChild("a"));
+      assertDeepKeys(nested);
+    }
+
+    config.reloadSection(Map.of("reloaded", Map.of("key", 1)));
+    assertDeepKeys(config);
+    nested.set("detached", 1);
+    assertDeepKeys(config);
+  }
+
+  @Test
+  void getKeys_deep_stableWhileChanging() {
+    var config = new SimpleConfig();
+    config.set("a.b", 1);
+    config.set("a.c", 2);
+    config.set("d", 3);
+    var keys = config.getKeys(true);
+
+    for (var key : keys) {
+      config.set(key + "x", 0);
+      config.remove("d");
+    }
+    assertEquals(Set.of("a", "a.b", "a.c", "d"), keys);
+    assertNotSame(keys, config.getKeys(true));
+    assertDeepKeys(config);
+  }
+
+  @Test
+  void getKeys_deep_keepTreeOrderInEveryMode() {
+    for (var mode : ConcurrencyMode.values()) {
+      var config = new SimpleConfig();
+      config.getOptions().concurrencyMode(mode);
+      config.set("g.x", 1);
+      config.set("i", 2);
+      config.getKeys(true);
+
+      config.set("g.a", 3);
+      assertIterableEquals(List.of("g", "g.x", "g.a", "i"), config.getKeys(true));
+      config.remove("g.x");
+      assertIterableEquals(List.of("g", "g.a", "i"), config.getKeys(true));
+      config.set("g", Map.of("b", 4));
+      assertIterableEquals(List.of("g", "g.b", "i"), config.getKeys(true));
+    }
+  }
+
+  @Test
+  void get_type_cachedUntilChanged() {
+    var config = new SimpleConfig();
+    config.set("point.x", 1);
+    config.set("point.y", 2);
+    config.set("object", new SerializableObject(1, 2, 3));
+
+    var point = config.get("point", ImmutablePoint.class);
+    assertSame(point, config.get("point", ImmutablePoint.class));
+    assertNotSame(config.get("object", SerializableObject.class),
+        config.get("object", SerializableObject.class));
+
+    config.set("point.x", 3);
+    var changed = config.get("point", ImmutablePoint.class);
+    assertNotSame(point, changed);
+    assertEquals(3, changed.x);
+    assertSame(changed, config.get("point", ImmutablePoint.class));
+  }
+
+  @Test
+  void putAll_mergeTree_matchSetPerKey() {
+    for (var mode : ConcurrencyMode.values()) {
+      for (var pathIndex : new boolean[]{false, true}) {
+        var expected = new SimpleConfig();
+        var config = new SimpleConfig();
+        config.getOptions().concurrencyMode(mode).pathIndex(pathIndex);
+        for (var section : List.of(expected, config)) {
+          section.set("a.b", 1);
+          section.set("a.c.d", "kept");
+          section.set("e", 2);
+        }
+        config.getKeys(true);
+
+        Map<String, Object> values = new LinkedHashMap<>();
+        values.put("a", Map.of("x", 3));
+        values.put("e", null);
+        values.put("f.g", new int[]{1, 2});
+        values.put("point", new SerializableObject(1, 2, 3));
+        values.forEach(expected::set);
+        config.putAll(values);
+        assertEquals(expected.getValues(), config.getValues());
+        assertDeepKeys(config);
+        assertEquals(3, config.get("a.x"));
+        assertNull(config.get("a.b"));
+
+        config.mergeTree(Map.of("a", Map.of("x", 4, "y", Map.of("z", 5)), "h", 6),
+            MergeStrategy.KEEP_EXISTING);
+        assertEquals(3, config.get("a.x"));
+        assertEquals(5, config.get("a.y.z"));
+        assertEquals(6, config.get("h"));
+
+        config.mergeTree(Map.of("a", Map.of("x", 7), "f.g", "replaced"),
+            MergeStrategy.OVERWRITE);
+        assertEquals(7, config.get("a.x"));
+        assertEquals(5, config.get("a.y.z"));
+        assertEquals("replaced", config.get("f.g"));
+        assertDeepKeys(config);
+      }
+    }
+  }
+
+  @Test
+  void putAll_groupedPaths_matchSetPerKey() {
+    Map<String, Object> values = new LinkedHashMap<>();
+    values.put("a.x", 1);
+    values.put("b", 2);
+    values.put("a", Map.of("y", 3));
+    values.put("a.z", 4);
+    for (var i = 0; i < 100; i++) {
+      values.put("servers.s" + i + ".port", i);
+    }
+    values.put("c.d.e", 5);
+    values.put("servers.s0", "replaced");
+
+    for (var mode : ConcurrencyMode.values()) {
+      for (var pathIndex : new boolean[]{false, true}) {
+        var expected = new SimpleConfig();
+        var config = new SimpleConfig();
+        config.getOptions().concurrencyMode(mode).pathIndex(pathIndex);
+        values.forEach(expected::set);
+        config.getKeys(true);
+        config.putAll(values);
+
+        assertEquals(expected.getValues(), config.getValues());
+        assertIterableEquals(expected.getKeys(true), config.getKeys(true));
+        assertDeepKeys(config);
+        assertNull(config.get("a.x"));
+        assertEquals(99, config.get("servers.s99.port"));
+        assertEquals("replaced", config.get("servers.s0"));
+      }
+    }
+  }
+
+  @Test
+  void putAll_failed_keepsBookkeepingOfAppliedEntries() {
+    for (var mode : ConcurrencyMode.values()) {
+      for (var pathIndex : new boolean[]{false, true}) {
+        var config = new SimpleConfig();
+        config.getOptions().concurrencyMode(mode).pathIndex(pathIndex);
+        config.set("b", 76);
+        config.set("h.g.i", 1);
+        config.getKeys(true);
+        config.get("h.g.i");
+
+        Map<String, Object> values = new LinkedHashMap<>();
+        values.put("i.h.c", Map.of("d", 1));
+        values.put("h", null);
+        values.put("b.e", false);
+        values.put("j", 2);
+        assertThrows(TcConfigException.class, () -> config.putAll(values));
+
+        assertDeepKeys(config);
+        assertNull(config.get("j"));
+        if (config.getValues().containsKey("h")) {
+          assertEquals(1, config.get("h.g.i"));
+        } else {
+          assertThrows(TcConfigException.class, () -> config.get("h.g.i"));
+        }
+      }
+    }
+  }
+
+  @Test
+  void reload_lazySections_matchesEager() {
+    var tree = Map.of("a", Map.of("b", Map.of("c", 1), "d", List.of(1, 2)), "e",
+        Map.of("f", "g"), "h", 2);
+    for (var mode : ConcurrencyMode.values()) {
+      for (var pathIndex : new boolean[]{false, true}) {
+        var expected = new SimpleConfig();
+        var config = new SimpleConfig();
+        config.getOptions().concurrencyMode(mode).pathIndex(pathIndex).lazySections(true);
+        expected.reloadSection(tree);
+        config.reloadSection(tree);
+
+        assertEquals(1, config.get("a.b.c"));
+        assertEquals(1, config.getInt("a.b.c"));
+        config.set("e.x", 3);
+        expected.set("e.x", 3);
+        assertEquals(3, config.get("e.x"));
+        assertEquals(expected.getValues(), config.getValues());
+        assertDeepKeys(config);
+
+        config.reloadSection(Map.of("a", Map.of("b", 4)));
+        assertEquals(4, config.get("a.b"));
+        assertNull(config.get("e"));
+      }
+    }
+  }
+
+  @Test
+  void reload_siblingSections_shareKeys() {
+    for (var strategy : ReloadStrategy.values()) {
+      for (var lazy : new boolean[]{false, true}) {
+        var config = new SimpleConfig();
+        config.getOptions().reloadStrategy(strategy).lazySections(lazy);
+        var first = new String("name");
+        var second = new String("name");
+        assertNotSame(first, second);
+
+        config.reloadSection(Map.of("a", Map.of("x", 1), "b", Map.of("x", 2)));
+        config.reloadSection(Map.of("a", Map.of(first, 1), "b", Map.of(second, 2)));
+        var keyA = config.getChild("a").getKeys(false).iterator().next();
+        var keyB = config.getChild("b").getKeys(false).iterator().next();
+        assertEquals("name", keyA);
+        assertSame(keyA, keyB);
+      }
+    }
+  }
+
+  @Test
+  void reload_diff_keepsUnchangedSections() {
+    Map<String, Object> first = Map.of("point", Map.of("x", 1, "y", 2), "a",
+        Map.of("b", 1, "c", Map.of("d", "e")), "removed", Map.of("f", 1), "list", List.of(1, 2));
+    Map<String, Object> second = Map.of("point", Map.of("x", 1, "y", 2), "a",
+        Map.of("b", 2, "c", Map.of("d", "e")), "list", List.of(1, 2, 3), "added", 4);
+    for (var mode : ConcurrencyMode.values()) {
+      for (var pathIndex : new boolean[]{false, true}) {
+        var expected = new SimpleConfig();
+        var config = new SimpleConfig();
+        config.getOptions().concurrencyMode(mode).pathIndex(pathIndex)
+            .reloadStrategy(ReloadStrategy.DIFF);
+        config.reloadSection(first);
+        var point = config.get("point", ImmutablePoint.class);
+        var unchanged = config.getChild("a.c");
+        var changed = config.getChild("a");
+        var removed = config.getChild("removed");
+        config.getKeys(true);
+
+        expected.reloadSection(second);
+        config.reloadSection(second);
+        assertEquals(expected.getValues(), config.getValues());
+        assertDeepKeys(config);
+        assertSame(point, config.get("point", ImmutablePoint.class));
+        assertSame(unchanged, config.getChild("a.c"));
+        assertSame(changed, config.getChild("a"));
+        assertEquals(2, config.get("a.b"));
+        assertEquals(4, config.get("added"));
+        assertNull(config.get("removed"));
+        assertEquals(1, removed.get("f"));
+      }
+    }
+  }
+
+  @Test
+  void walk_visitsEveryValueOnce() {
+    var config = new SimpleConfig();
+    config.set("a.b.c", 1);
+    config.set("a.d", "e");
+    config.set("f", 2.5);
+    config.set("skipped.g", true);
+
+    for (var section : List.of(config, config.snapshot())) {
+      List<String> visited = new ArrayList<>();
+      section.walk(new ConfigVisitor() {
+        @Override
+        public void visit(ConfigVisitor.Entry entry) {
+          visited.add(entry.path() + '=' + entry.value());
+          assertEquals(section.getDouble(entry.path()), entry.doubleValue());
+        }
+
+        @Override
+        public boolean enterSection(ConfigVisitor.Entry entry) {
+          visited.add(entry.depth() + ":" + entry.key());
+          return !entry.key().equals("skipped");
+        }
+
+        @Override
+        public void exitSection(ConfigVisitor.Entry entry) {
+          visited.add("exit " + entry.path());
+        }
+      });
+      assertEquals(List.of("1:a", "2:b", "a.b.c=1", "exit a.b", "a.d=e", "exit a", "f=2.5",
+          "1:skipped"), visited);
+    }
+  }
+
+  @Test
+  void valuesView_isLiveAndReadOnly() {
+    var config = new SimpleConfig();
+    config.set("a.b", 1);
+    config.set("a.c", new int[]{1, 2});
+    config.set("d", "e");
+
+    var view = config.valuesView();
+    assertEquals(config.getValues(), view);
+    assertSame(view.get("a"), config.getChild("a").valuesView());
+    assertThrows(UnsupportedOperationException.class, () -> view.remove("d"));
+    assertThrows(UnsupportedOperationException.class,
+        () -> ((Map<?, ?>) view.get("a")).clear());
+
+    config.set("a.f", 2.5);
+    config.remove("d");
+    assertEquals(config.getValues(), view);
+    assertEquals(Set.of("a"), view.keySet());
+  }
+
+  @Test
+  void keysWithPrefix_keysInRange_matchDeepKeys() {
+    var prefixes = List.of("", "servers", "servers.", "servers.eu", "servers.eu-west.",
+        "servers.us.port", "missing.key", "name.x");
+    for (var pathIndex : new boolean[]{false, true}) {
+      for (var sorted : new boolean[]{false, true}) {
+        var config = new SimpleConfig();
+        config.getOptions().pathIndex(pathIndex).sortedPathIndex(sorted);
+        config.set("name", "x");
+        for (var region : List.of("eu-west", "eu-north", "us")) {
+          config.set("servers." + region + ".port", 80);
+          config.set("servers." + region + ".db.host", region + ".internal");
+        }
+        config.remove("servers.eu-north.db");
+
+        for (var section : List.of(config, config.getChild("servers"))) {
+          var keys = section.getKeys(true);
+          for (var prefix : prefixes) {
+            var expected = new LinkedHashSet<String>();
+            keys.stream().filter(k -> k.startsWith(prefix)).forEach(expected::add);
+            assertEquals(expected, section.keysWithPrefix(prefix), prefix);
+          }
+          assertIterableEquals(new TreeSet<>(keys).subSet("eu", "us"),
+              section.keysInRange("eu", "us"));
+        }
+      }
+    }
+  }
+
+  @Test
+  void select_matchesDeepKeysAndCaches() {
+    var patterns = Map.of("servers.*.port", "servers\\.[^.]*\\.port", "**.host",
+        "(.*\\.)?host", "servers.eu-*.**", "servers\\.eu-[^.]*(\\..*)?", "name", "name");
+    for (var mode : ConcurrencyMode.values()) {
+      var config = new SimpleConfig();
+      config.getOptions().concurrencyMode(mode);
+      config.set("name", "x");
+      for (var region : List.of("eu-west", "eu-north", "us")) {
+        config.set("servers." + region + ".port", 80);
+        config.set("servers." + region + ".db.host", region + ".internal");
+      }
+
+      patterns.forEach((pattern, regex) -> {
+        var query = ConfigQuery.compile(pattern, config);
+        Map<String, Object> expected = new LinkedHashMap<>();
+        config.getKeys(true).stream().filter(k -> k.matches(regex))
+            .forEach(k -> expected.put(k, config.get(k)));
+        var selected = config.select(query);
+        assertEquals(expected, selected, pattern);
+        assertSame(selected, config.select(pattern));
+        assertEquals(expected.keySet(), config.snapshot().select(query).keySet(), pattern);
+      });
+
+      var ports = config.select("servers.*.port");
+      config.set("servers.us.port", 8080);
+      assertNotSame(ports, config.select("servers.*.port"));
+      assertEquals(8080, config.select("servers.*.port").get("servers.us.port"));
+    }
+  }
+
+  @Test
+  void detachedSection_changesDoNotReachTree() {
+    for (var mode : ConcurrencyMode.values()) {
+      var config = new SimpleConfig();
+      config.getOptions().concurrencyMode(mode).pathIndex(true);
+      config.reloadSection(Map.of("db", Map.of("port", 5000)));
+      var staleDb = config.getChild("db");
+      config.reloadSection(Map.of("db", Map.of("port", 6000)));
+      var mod = config.getKeys(true);
+
+      staleDb.set("port", 1);
+      staleDb.set("added", 2);
+      assertEquals(6000, config.get("db.port"));
+      assertEquals(6000, config.getInt("db.port"));
+      assertNull(config.get("db.added"));
+      assertEquals(1, staleDb.get("port"));
+      assertSame(mod, config.getKeys(true));
+
+      config.set("a.b", 1);
+      var removed = config.getChild("a");
+      config.set("a", null);
+      removed.set("x", 2);
+      assertNull(config.get("a"));
+      assertThrows(TcConfigException.class, () -> config.get("a.x"));
+      assertEquals(2, removed.get("x"));
+      assertDeepKeys(config);
+    }
+  }
+}
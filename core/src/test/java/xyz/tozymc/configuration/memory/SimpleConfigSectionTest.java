@@ -7,7 +7,10 @@ import static org.junit.jupiter.api.Assertions.assertInstanceOf;
 import static org.junit.jupiter.api.Assertions.assertIterableEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
@@ -122,4 +125,46 @@ class SimpleConfigSectionTest {
         () -> assertEquals(structureMap,
             Objects.requireNonNull(config.getChild("structure.map")).getValues()));
   }
+
+  @Test
+  @Order(11)
+  void get_unboxedScalarObject() {
+    assertAll(() -> assertInstanceOf(Integer.class, config.get("int")),
+        () -> assertInstanceOf(Long.class, config.get("long")),
+        () -> assertInstanceOf(Boolean.class, config.get("boolean")),
+        () -> assertSame(config.get("long"), config.get("long")),
+        () -> assertEquals(1000D, config.getDouble("int")),
+        () -> assertEquals(-1, config.getInt("long")),
+        () -> assertEquals(0, config.getInt("string")));
+  }
+
+  @Test
+  @Order(12)
+  void get_primitiveArray() {
+    var array = (List<?>) config.get("structure.array");
+    var mixed = new SimpleConfig();
+    mixed.set("list", new ArrayList<>(List.of(1, "a")));
+    assertAll(() -> assertEquals(45, config.getIntArray("structure.array").get(3)),
+        () -> assertEquals(4, config.getLongArray("structure.array").limit()),
+        () -> assertSame(array, config.get("structure.array")),
+        () -> assertThrows(UnsupportedOperationException.class, array::clear),
+        () -> assertThrows(UnsupportedOperationException.class,
+            () -> ((List<?>) mixed.get("list")).clear()),
+        () -> assertThrows(UnsupportedOperationException.class,
+            () -> config.getList("structure.array").clear()));
+  }
+
+  @Test
+  @Order(13)
+  void reloadSection_compactsLoadedLists() {
+    var loaded = new SimpleConfig();
+    loaded.reloadSection(Map.of("ints", List.of(1, 2, 3), "mixed", List.of(1, 2L),
+        "section", Map.of("flags", List.of(true, false))));
+    var leafCounts = loaded.memoryStats().leafCounts();
+    assertAll(() -> assertEquals(Integer.valueOf(1), leafCounts.get(int[].class)),
+        () -> assertEquals(Integer.valueOf(1), leafCounts.get(boolean[].class)),
+        () -> assertEquals(List.of(1, 2L), loaded.get("mixed")),
+        () -> assertEquals(List.of(1, 2, 3), loaded.get("ints")),
+        () -> assertEquals(3, loaded.getIntArray("ints").limit()));
+  }
 }
\ No newline at end of file
@@ -0,0 +1,97 @@
+package xyz.tozymc.configuration.memory;
+
+import static org.junit.jupiter.api.Assertions.assertAll;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import xyz.tozymc.configuration.ConfigPath;
+import xyz.tozymc.configuration.TcConfig;
+import xyz.tozymc.configuration.exception.TcConfigException;
+
+class SnapshotConfigTest {
+  private SimpleConfig config;
+  private TcConfig snapshot;
+
+  @BeforeEach
+  void setUp() {
+    config = new SimpleConfig();
+    config.set("name", "snapshot");
+    config.set("server.host", "localhost");
+    config.set("server.port", 25565);
+    config.set("server.ports", new int[]{1, 2, 3});
+    config.set("server.motd.line", "Hello");
+    snapshot = config.snapshot();
+  }
+
+  @Test
+  void get_sameValuesAsConfig() {
+    var server = snapshot.getChild("server");
+    assertAll(() -> assertEquals("snapshot", snapshot.getString("name")),
+        () -> assertEquals(25565, snapshot.getInt("server.port")),
+        () -> assertEquals("Hello", snapshot.get("server.motd.line")),
+        () -> assertEquals("Hello", snapshot.get(ConfigPath.of("server/motd/line", '/'))),
+        () -> assertEquals(List.of(1, 2, 3), snapshot.getList("server.ports")),
+        () -> assertEquals("localhost", server.get("host")),
+        () -> assertEquals("Hello", server.get("motd.line")),
+        () -> assertEquals("server.motd", server.getChild("motd").getFullPath()),
+        () -> assertSame(snapshot, server.getRoot()),
+        () -> assertNull(snapshot.get("server.missing")),
+        () -> assertEquals(config.getValues(), snapshot.getValues()));
+  }
+
+  @Test
+  void get_pathThroughLeaf_throwsLikeConfig() {
+    assertAll(() -> assertThrows(TcConfigException.class, () -> config.get("name.x")),
+        () -> assertThrows(TcConfigException.class, () -> snapshot.get("name.x")),
+        () -> assertThrows(TcConfigException.class, () -> snapshot.get("server.port.x")),
+        () -> assertThrows(TcConfigException.class,
+            () -> snapshot.get(ConfigPath.of("server/host/x", '/'))),
+        () -> assertThrows(TcConfigException.class,
+            () -> snapshot.getChild("server").get("motd.line.x")),
+        () -> assertNull(snapshot.get("server.motd.missing")));
+  }
+
+  @Test
+  void getKeys_precomputed() {
+    assertAll(() -> assertEquals(Set.of("name", "server"), snapshot.getKeys(false)),
+        () -> assertEquals(config.getKeys(true), snapshot.getKeys(true)),
+        () -> assertEquals(Set.of("line"), snapshot.getChild("server.motd").getKeys(true)),
+        () -> assertSame(snapshot.getKeys(true), snapshot.getKeys(true)));
+  }
+
+  @Test
+  void modifyConfig_snapshotUnchanged() {
+    config.set("name", "changed");
+    config.set("server.port", 80);
+    config.remove("server.motd");
+    config.reloadSection(Map.of("other", true));
+
+    assertAll(() -> assertEquals("snapshot", snapshot.getString("name")),
+        () -> assertEquals(25565, snapshot.getInt("server.port")),
+        () -> assertEquals("Hello", snapshot.get("server.motd.line")),
+        () -> assertNotSame(config.snapshot(), snapshot));
+  }
+
+  @Test
+  void modifySnapshot_throws() {
+    assertAll(
+        () -> assertThrows(UnsupportedOperationException.class, () -> snapshot.set("name", "x")),
+        () -> assertThrows(UnsupportedOperationException.class, () -> snapshot.remove("name")),
+        () -> assertThrows(UnsupportedOperationException.class,
+            () -> snapshot.createChild("child")),
+        () -> assertThrows(UnsupportedOperationException.class,
+            () -> snapshot.getOptions().pathSeparator('/')),
+        () -> assertThrows(UnsupportedOperationException.class,
+            () -> ((List<?>) snapshot.get("server.ports")).clear()),
+        () -> assertTrue(snapshot.getList("server.ports").contains(3)));
+  }
+}
@@ -0,0 +1,83 @@
+package xyz.tozymc.configuration.memory;
+
+import static org.junit.jupiter.api.Assertions.assertAll;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import org.jetbrains.annotations.NotNull;
+import org.junit.jupiter.api.Test;
+import xyz.tozymc.configuration.serialization.TcConfigSerializations;
+import xyz.tozymc.configuration.serialization.TcConfigSerializer;
+
+class ValueKindTest {
+  static final class Point {
+    final int x;
+
+    Point(int x) {
+      this.x = x;
+    }
+  }
+
+  static final class PointSerializer implements TcConfigSerializer<Point> {
+    @Override
+    public @NotNull Map<String, ?> serialize(@NotNull Point object) {
+      return Map.of("x", object.x);
+    }
+
+    @Override
+    public @NotNull Point deserialize(@NotNull Map<String, ?> serialized) {
+      return new Point((int) serialized.get("x"));
+    }
+  }
+
+  @Test
+  void of_classifiesEveryKind() {
+    assertAll(() -> assertEquals(ValueKind.MAP, ValueKind.of(Map.of("a", 1))),
+        () -> assertEquals(ValueKind.MAP, ValueKind.of(new LinkedHashMap<>())),
+        () -> assertEquals(ValueKind.SCALAR, ValueKind.of(List.of(1, 2))),
+        () -> assertEquals(ValueKind.SCALAR, ValueKind.of(new ArrayList<>())),
+        () -> assertEquals(ValueKind.ARRAY, ValueKind.of(new int[]{1})),
+        () -> assertEquals(ValueKind.ARRAY, ValueKind.of(new String[]{"a"})),
+        () -> assertEquals(ValueKind.SERIALIZABLE, ValueKind.of(new SerializableObject(1, 2, 3))),
+        () -> assertEquals(ValueKind.SCALAR, ValueKind.of("a")),
+        () -> assertEquals(ValueKind.SCALAR, ValueKind.of(1)),
+        () -> assertEquals(ValueKind.SCALAR, ValueKind.of(1.5)),
+        () -> assertEquals(ValueKind.SCALAR, ValueKind.of(true)),
+        () -> assertEquals(ValueKind.SCALAR, ValueKind.of('c')),
+        () -> assertEquals(ValueKind.SCALAR, ValueKind.of(new Point(1))));
+  }
+
+  @Test
+  void of_followsSerializersRegisteredLater() {
+    var serializer = new PointSerializer();
+    assertEquals(ValueKind.SCALAR, ValueKind.of(new Point(1)));
+    TcConfigSerializations.registerSerializer(serializer);
+    try {
+      assertEquals(ValueKind.SERIALIZABLE, ValueKind.of(new Point(1)));
+    } finally {
+      TcConfigSerializations.unregisterSerializer(serializer);
+    }
+    assertEquals(ValueKind.SCALAR, ValueKind.of(new Point(1)));
+  }
+
+  @Test
+  void set_storesEveryKind() {
+    var config = new SimpleConfig();
+    var point = new Point(1);
+    config.set("map", Map.of("a", 1));
+    config.set("list", List.of("a", "b"));
+    config.set("array", new int[]{1, 2});
+    config.set("serializable", new SerializableObject(1, 2, 3));
+    config.set("scalar", point);
+    assertAll(() -> assertInstanceOf(SimpleConfigSection.class, config.get("map")),
+        () -> assertEquals(List.of("a", "b"), config.get("list")),
+        () -> assertEquals(List.of(1, 2), config.get("array")),
+        () -> assertEquals(3, config.getInt("serializable.z")),
+        () -> assertSame(point, config.get("scalar")));
+  }
+}
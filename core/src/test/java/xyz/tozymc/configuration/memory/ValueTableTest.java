@@ -0,0 +1,81 @@
+package xyz.tozymc.configuration.memory;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertIterableEquals;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import org.junit.jupiter.api.Test;
+
+class ValueTableTest {
+  private static Object randomValue(Random random) {
+    switch (random.nextInt(5)) {
+      case 0:
+        return random.nextInt();
+      case 1:
+        return random.nextLong();
+      case 2:
+        return random.nextDouble();
+      case 3:
+        return random.nextBoolean();
+      default:
+        return "value-" + random.nextInt(100);
+    }
+  }
+
+  private static void assertSameContent(Map<String, Object> expected, ValueTable table) {
+    assertEquals(expected.size(), table.size());
+    assertIterableEquals(expected.keySet(), table.keySet());
+    List<Object> values = new ArrayList<>();
+    table.forEach((k, v) -> values.add(v));
+    assertIterableEquals(expected.values(), values);
+    for (var entry : expected.entrySet()) {
+      var key = entry.getKey();
+      assertEquals(entry.getValue(), table.get(key));
+      assertEquals(table.indexOf(key), table.indexOf("." + key + ".", 1, key.length() + 1));
+    }
+  }
+
+  @Test
+  void putRemove_matchesLinkedHashMap() {
+    var random = new Random(42);
+    for (var bound : new int[]{4, ValueTable.LINEAR_SCAN_THRESHOLD + 1, 64}) {
+      Map<String, Object> expected = new LinkedHashMap<>();
+      var table = new ValueTable();
+      for (var i = 0; i < 2_000; i++) {
+        var key = "k" + random.nextInt(bound);
+        if (random.nextInt(4) == 0) {
+          assertEquals(expected.remove(key), table.remove(key));
+        } else {
+          var value = randomValue(random);
+          assertEquals(expected.put(key, value), table.put(key, value));
+        }
+        if (i % 100 == 0) {
+          var copy = table.copy();
+          copy.put("copy-only", 1);
+          assertSameContent(expected, table);
+        }
+      }
+      assertSameContent(expected, table);
+    }
+  }
+
+  @Test
+  void primitiveGetters_convertStoredKind() {
+    var table = new ValueTable(2);
+    table.put("string", "12");
+    table.put("double", 2.5);
+    table.put("long", 1L << 40);
+    table.put("boolean", true);
+
+    assertEquals(12, table.intAt(table.indexOf("string")));
+    assertEquals(2, table.intAt(table.indexOf("double")));
+    assertEquals(1L << 40, table.longAt(table.indexOf("long")));
+    assertEquals(1.099511627776E12, table.doubleAt(table.indexOf("long")));
+    assertEquals(true, table.booleanAt(table.indexOf("boolean")));
+    assertEquals(Double.class, table.get("double").getClass());
+  }
+}
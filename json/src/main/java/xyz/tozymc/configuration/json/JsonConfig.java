@@ -1,6 +1,7 @@
 package xyz.tozymc.configuration.json;
 
 import java.io.IOException;
+import java.io.Writer;
 import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Path;
@@ -40,6 +41,11 @@ public class JsonConfig extends FileConfig {
     return getOptions().gson().toJson(getValuesWithoutReload());
   }
 
+  @Override
+  protected void writeTo(@NotNull Writer writer, @NotNull Map<String, ?> values) {
+    getOptions().gson().toJson(values, writer);
+  }
+
   @Override
   public @NotNull JsonConfigOptions getOptions() {
     return (JsonConfigOptions) super.getOptions();
@@ -1,6 +1,7 @@
 package xyz.tozymc.configuration.toml;
 
 import java.io.IOException;
+import java.io.Writer;
 import java.nio.file.Path;
 import java.util.Map;
 import org.jetbrains.annotations.NotNull;
@@ -37,6 +38,12 @@ public class TomlConfig extends FileConfig {
     return Toml.toToml(getValuesWithoutReload(), getOptions().indent());
   }
 
+  @Override
+  protected void writeTo(@NotNull Writer writer, @NotNull Map<String, ?> values)
+      throws IOException {
+    Toml.toToml(values, getOptions().indent(), writer);
+  }
+
   @Override
   public @NotNull TomlConfigOptions getOptions() {
     return (TomlConfigOptions) super.getOptions();
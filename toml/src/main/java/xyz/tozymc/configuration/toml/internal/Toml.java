@@ -3,6 +3,7 @@ package xyz.tozymc.configuration.toml.internal;
 import java.io.IOException;
 import java.io.StringWriter;
 import java.io.UncheckedIOException;
+import java.io.Writer;
 import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Path;
@@ -38,6 +39,13 @@ public final class Toml {
     return stringWriter.toString();
   }
 
+  public static void toToml(Map<String, ?> data, int indentSize, Writer writer)
+      throws IOException {
+    var tomlWriter = new TomlWriter(writer, indentSize);
+    tomlWriter.write(data);
+    tomlWriter.flush();
+  }
+
   public static Map<String, Object> fromToml(Path path) throws IOException {
     var data = Files.readString(path, StandardCharsets.UTF_8);
     return new TomlReader(data, false).read();
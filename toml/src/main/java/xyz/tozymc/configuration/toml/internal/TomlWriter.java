@@ -233,6 +233,15 @@ final class TomlWriter implements Closeable, Flushable {
   private void writeArray(char[] array) throws IOException {
     write('[');
     for (char element : array) {
+      writeString(String.valueOf(element));
+      write(", ");
+    }
+    write(']');
+  }
+
+  private void writeArray(boolean[] array) throws IOException {
+    write('[');
+    for (boolean element : array) {
       write(String.valueOf(element));
       write(", ");
     }
@@ -304,6 +313,8 @@ final class TomlWriter implements Closeable, Flushable {
       writeArray((float[]) value);
     } else if (value instanceof double[]) {
       writeArray((double[]) value);
+    } else if (value instanceof boolean[]) {
+      writeArray((boolean[]) value);
     } else if (value instanceof Map) {// should not happen because an array of tables is detected by
       // writeTableContent()
       throw new IOException("Unexpected value " + value);
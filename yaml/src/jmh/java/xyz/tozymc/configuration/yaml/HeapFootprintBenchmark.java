@@ -0,0 +1,119 @@
+package xyz.tozymc.configuration.yaml;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.yaml.snakeyaml.Yaml;
+import xyz.tozymc.configuration.yaml.builder.YamlConfigBuilder;
+
+/**
+ * Measures the heap retained by a large generated YAML file.
+ *
+ * <p>{@code parsedMap} retains the plain {@code LinkedHashMap} tree produced by SnakeYAML, which is
+ * the layout the memory storage used before; {@code loadedConfig} retains a reloaded
+ * {@link YamlConfig}; {@code lazyLoadedConfig} retains a {@link YamlConfig} reloaded with lazy
+ * sections and never read. The retained bytes are reported by the {@code retainedBytes} counter.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 5)
+@Fork(value = 1, jvmArgsAppend = {"-Xms1g", "-Xmx1g"})
+public class HeapFootprintBenchmark {
+  @Param({"20000"})
+  public int servers;
+
+  private Path file;
+
+  private static long usedHeap() {
+    var runtime = Runtime.getRuntime();
+    for (var i = 0; i < 3; i++) {
+      System.gc();
+    }
+    return runtime.totalMemory() - runtime.freeMemory();
+  }
+
+  @Setup(Level.Trial)
+  public void setup() throws IOException {
+    file = Files.createTempFile("heap-footprint", ".yml");
+    try (var writer = Files.newBufferedWriter(file)) {
+      writer.write("servers:\n");
+      for (var i = 0; i < servers; i++) {
+        writer.write("  server-" + i + ":\n");
+        writer.write("    host: server-" + i + ".internal\n");
+        writer.write("    port: " + (8000 + i % 1000) + "\n");
+        writer.write("    enabled: " + (i % 3 != 0) + "\n");
+        writer.write("    weight: " + (i % 100) / 10.0 + "\n");
+        writer.write("    limits:\n");
+        writer.write("      connections: " + (100 + i % 50) + "\n");
+        writer.write("      timeout: " + (1000L + i) + "\n");
+      }
+    }
+  }
+
+  @TearDown(Level.Trial)
+  public void tearDown() throws IOException {
+    Files.deleteIfExists(file);
+  }
+
+  @Benchmark
+  public Object parsedMap(Footprint footprint) {
+    return footprint.measure(() -> {
+      try (Reader reader = Files.newBufferedReader(file)) {
+        return new Yaml().load(reader);
+      } catch (IOException e) {
+        throw new IllegalStateException(e);
+      }
+    });
+  }
+
+  @Benchmark
+  public Object loadedConfig(Footprint footprint) {
+    return footprint.measure(() -> {
+      var config = new YamlConfigBuilder(file).createConfig();
+      config.reload();
+      return config;
+    });
+  }
+
+  @Benchmark
+  public Object lazyLoadedConfig(Footprint footprint) {
+    return footprint.measure(() -> {
+      var config = new YamlConfigBuilder(file).createConfig();
+      config.getOptions().lazySections(true);
+      config.reload();
+      return config;
+    });
+  }
+
+  @State(Scope.Thread)
+  @AuxCounters(AuxCounters.Type.EVENTS)
+  public static class Footprint {
+    public long retainedBytes;
+
+    Object measure(Supplier<Object> loader) {
+      var before = usedHeap();
+      var loaded = loader.get();
+      retainedBytes = usedHeap() - before;
+      return loaded;
+    }
+  }
+}
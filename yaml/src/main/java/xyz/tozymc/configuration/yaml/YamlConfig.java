@@ -1,12 +1,14 @@
 package xyz.tozymc.configuration.yaml;
 
 import java.io.IOException;
+import java.io.Writer;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.util.Map;
 import org.jetbrains.annotations.NotNull;
 import org.yaml.snakeyaml.Yaml;
 import org.yaml.snakeyaml.nodes.Tag;
+import org.yaml.snakeyaml.representer.Representer;
 import xyz.tozymc.configuration.file.FileConfig;
 import xyz.tozymc.configuration.yaml.builder.YamlConfigBuilder;
 import xyz.tozymc.configuration.yaml.option.YamlConfigOptions;
@@ -19,6 +21,7 @@ import xyz.tozymc.configuration.yaml.option.YamlConfigOptions;
  * @since 1.0
  */
 public class YamlConfig extends FileConfig {
+  private final Representer representer;
   private final Yaml yaml;
 
   /**
@@ -29,7 +32,8 @@ public class YamlConfig extends FileConfig {
   public YamlConfig(@NotNull Path path) {
     super(path);
     this.options = new YamlConfigOptions(this);
-    this.yaml = new Yaml(getOptions().dumperOptions());
+    this.representer = new Representer(getOptions().dumperOptions());
+    this.yaml = new Yaml(representer, getOptions().dumperOptions());
   }
 
   @Override
@@ -42,6 +46,12 @@ public class YamlConfig extends FileConfig {
     return yaml.dumpAs(getValuesWithoutReload(), Tag.MAP, getOptions().flowStyle());
   }
 
+  @Override
+  protected void writeTo(@NotNull Writer writer, @NotNull Map<String, ?> values) {
+    representer.setDefaultFlowStyle(getOptions().flowStyle());
+    yaml.dump(values, writer);
+  }
+
   @Override
   public @NotNull YamlConfigOptions getOptions() {
     return (YamlConfigOptions) super.getOptions();